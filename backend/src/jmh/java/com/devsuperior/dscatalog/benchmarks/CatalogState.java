@@ -0,0 +1,73 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.DscatalogApplication;
+import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.search.ProductFacetIndex;
+import com.devsuperior.dscatalog.services.search.ProductSearchIndex;
+import com.devsuperior.dscatalog.services.search.SuggestionIndex;
+import com.devsuperior.dscatalog.synthetic.SyntheticCatalogGenerator;
+import com.devsuperior.dscatalog.synthetic.SyntheticCatalogReport;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots the application without a web server against a private in-memory H2
+ * database holding the seed data plus {@code products} synthetic products.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    @Param({"10000"})
+    public int products;
+
+    @Param({"42"})
+    public long seed;
+
+    public ConfigurableApplicationContext context;
+    public ProductService productService;
+
+    private long firstProductId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DscatalogApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        SyntheticCatalogReport report = new SyntheticCatalogGenerator(context.getBean(JdbcTemplate.class),
+                context.getBean(PlatformTransactionManager.class), seed, 5_000, Instant.parse("2024-01-01T00:00:00Z"))
+                .generate(20, products, 100);
+        firstProductId = report.getFirstProductId();
+        context.getBean(ProductSearchIndex.class).rebuild();
+        context.getBean(SuggestionIndex.class).rebuild();
+        context.getBean(ProductFacetIndex.class).rebuild();
+        productService = context.getBean(ProductService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public long randomProductId() {
+        return firstProductId + ThreadLocalRandom.current().nextInt(products);
+    }
+
+    public long randomCategoryId() {
+        return 1L + ThreadLocalRandom.current().nextInt(3);
+    }
+}
@@ -0,0 +1,184 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.DscatalogApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load test comparing platform-thread and virtual-thread
+ * request execution. Boots the application once per mode on a random port
+ * against its own in-memory synthetic catalog, runs {@code clients}
+ * concurrent clients for a warm-up and a measured phase, and prints
+ * throughput and latency percentiles. Arguments are {@code key=value}:
+ * {@code clients}, {@code seconds}, {@code warmup}, {@code products},
+ * {@code tomcat-threads} and {@code modes} (default
+ * {@code platform,virtual-threads}; the latter needs a {@code -Pjava21} build).
+ */
+public class HttpLoadTest {
+
+    private static final String VIRTUAL_THREAD_CONFIG = "com.devsuperior.dscatalog.config.VirtualThreadConfig";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int products = Integer.parseInt(options.getOrDefault("products", "10000"));
+        int tomcatThreads = Integer.parseInt(options.getOrDefault("tomcat-threads", "200"));
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "platform,virtual-threads").split(","));
+
+        List<String> results = new ArrayList<>();
+        for (String mode : modes) {
+            if (mode.equals("virtual-threads") && !isPresent(VIRTUAL_THREAD_CONFIG)) {
+                results.add(String.format("%-16s skipped: build with -Pjava21 on a Java 21 JDK", mode));
+                continue;
+            }
+            results.add(run(mode, clients, seconds, warmup, products, tomcatThreads));
+        }
+        System.out.printf("%n%-16s %8s %10s %9s %9s %9s %9s %7s%n",
+                "mode", "clients", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        results.forEach(System.out::println);
+    }
+
+    private static String run(String mode, int clients, int seconds, int warmup, int products, int tomcatThreads)
+            throws InterruptedException {
+        List<String> profiles = new ArrayList<>(List.of("test", "synthetic"));
+        if (mode.equals("virtual-threads")) {
+            profiles.add(mode);
+        }
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DscatalogApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + tomcatThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--dscatalog.synthetic.products=" + products,
+                        "--dscatalog.statements.budget=1000",
+                        "--logging.level.root=WARN")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            long[] ids = context.getBean(JdbcTemplate.class)
+                    .queryForObject("SELECT MIN(id), MAX(id) FROM tb_product",
+                            (rs, row) -> new long[]{rs.getLong(1), rs.getLong(2)});
+            Workload workload = new Workload("http://localhost:" + port, ids[0], ids[1]);
+
+            drive(workload, clients, Duration.ofSeconds(warmup));
+            Result result = drive(workload, clients, Duration.ofSeconds(seconds));
+            return String.format("%-16s %8d %10.1f %9.2f %9.2f %9.2f %9.2f %7d", mode, clients,
+                    result.latencies.length / (double) seconds,
+                    result.percentile(0.50), result.percentile(0.95), result.percentile(0.99),
+                    result.percentile(1.0), result.errors);
+        }
+    }
+
+    private static Result drive(Workload workload, int clients, Duration duration) throws InterruptedException {
+        ExecutorService io = Executors.newFixedThreadPool(Math.min(clients, 64));
+        HttpClient http = HttpClient.newBuilder()
+                .executor(io)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<long[]> perClient = new ArrayList<>();
+        long[] errors = new long[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            int client = i;
+            long[] latencies = new long[1 << 16];
+            perClient.add(latencies);
+            pool.execute(() -> {
+                int n = 0;
+                long[] samples = latencies;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(workload.next(), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors[client]++;
+                        }
+                    }
+                    catch (Exception e) {
+                        errors[client]++;
+                    }
+                    if (n == samples.length) {
+                        samples = Arrays.copyOf(samples, n * 2);
+                        perClient.set(client, samples);
+                    }
+                    samples[n++] = System.nanoTime() - start;
+                }
+                perClient.set(client, Arrays.copyOf(samples, n));
+                done.countDown();
+            });
+        }
+        done.await();
+        pool.shutdown();
+        io.shutdown();
+        return new Result(perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray(),
+                Arrays.stream(errors).sum());
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className);
+            return true;
+        }
+        catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Mix of the catalog's read paths: listing pages, single products and
+     * full-text search.
+     */
+    private record Workload(String baseUrl, long firstId, long lastId) {
+
+        private static final String[] TERMS = {"notebook", "smart", "pro", "tv", "game"};
+
+        HttpRequest next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int pick = random.nextInt(10);
+            String path;
+            if (pick < 5) {
+                path = "/products/" + random.nextLong(firstId, lastId + 1);
+            }
+            else if (pick < 8) {
+                path = "/products?page=" + random.nextInt(50) + "&size=12";
+            }
+            else {
+                path = "/products/search?q=" + TERMS[random.nextInt(TERMS.length)];
+            }
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+        }
+    }
+
+    private record Result(long[] latencies, long errors) {
+
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
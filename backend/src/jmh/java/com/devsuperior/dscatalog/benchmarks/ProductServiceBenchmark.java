@@ -0,0 +1,53 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductServiceBenchmark {
+
+    private static final int PAGE_SIZE = 12;
+
+    @Benchmark
+    public Page<ProductDTO> findAllPaged(CatalogState state) {
+        int page = ThreadLocalRandom.current().nextInt(state.products / PAGE_SIZE);
+        return state.productService.findAllPaged(PageRequest.of(page, PAGE_SIZE, Sort.by("name")));
+    }
+
+    @Benchmark
+    public ProductDTO findById(CatalogState state) {
+        return state.productService.findById(state.randomProductId());
+    }
+
+    @Benchmark
+    public ProductDTO insert(CatalogState state) {
+        return state.productService.insert(newProduct(state));
+    }
+
+    @Benchmark
+    public ProductDTO updateWithCategoryReassignment(CatalogState state) {
+        return state.productService.update(state.randomProductId(), newProduct(state));
+    }
+
+    private ProductDTO newProduct(CatalogState state) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName("Benchmark product");
+        dto.setDescription("Written by ProductServiceBenchmark");
+        dto.setPrice(ThreadLocalRandom.current().nextDouble(10, 5_000));
+        dto.setDate(Instant.now());
+        dto.getCategories().add(new CategoryDTO(state.randomCategoryId(), null));
+        return dto;
+    }
+}
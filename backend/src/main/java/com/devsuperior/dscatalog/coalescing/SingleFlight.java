@@ -0,0 +1,20 @@
+package com.devsuperior.dscatalog.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose concurrent calls with equal arguments should share one
+ * execution and its result. Arguments must implement {@code equals} and
+ * {@code hashCode}, and the result must be safe to hand to several callers.
+ *
+ * @see SingleFlightAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+}
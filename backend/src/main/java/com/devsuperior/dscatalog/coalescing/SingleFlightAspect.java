@@ -0,0 +1,127 @@
+package com.devsuperior.dscatalog.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces concurrent calls to {@link SingleFlight} methods: the first caller
+ * for a method and argument list runs it, callers arriving while it is in
+ * flight wait for and share its result or exception. Waiting is bounded by
+ * {@code timeout}, after which a follower runs the method itself.
+ * <p>
+ * Ordered ahead of the cache and transaction interceptors, which use the
+ * lowest precedence, so only the leader opens a transaction. Calls made inside an existing transaction are never
+ * coalesced, since they may see that transaction's uncommitted writes.
+ * <p>
+ * {@link #CALLS} is tagged with the method and the outcome: {@code leader},
+ * {@code shared}, {@code timeout} or {@code bypassed}.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SingleFlightAspect {
+
+    public static final String CALLS = "dscatalog.singleflight.calls";
+    public static final String IN_FLIGHT = "dscatalog.singleflight.in.flight";
+    public static final String WAITING = "dscatalog.singleflight.waiting";
+
+    private final MeterRegistry registry;
+    private final Duration timeout;
+    private final Map<Key, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public SingleFlightAspect(MeterRegistry registry, Duration timeout) {
+        this.registry = registry;
+        this.timeout = timeout;
+        Gauge.builder(IN_FLIGHT, flights, Map::size).register(registry);
+        Gauge.builder(WAITING, waiting, AtomicInteger::get).register(registry);
+    }
+
+    @Around("@annotation(com.devsuperior.dscatalog.coalescing.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            count(name, "bypassed");
+            return joinPoint.proceed();
+        }
+
+        Key key = new Key(name, Arrays.asList(joinPoint.getArgs()));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight == null) {
+            return lead(joinPoint, name, key, flight);
+        }
+        return follow(joinPoint, name, inFlight);
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    private Object lead(ProceedingJoinPoint joinPoint, String name, Key key, CompletableFuture<Object> flight)
+            throws Throwable {
+        count(name, "leader");
+        try {
+            Object result = joinPoint.proceed();
+            flight.complete(result);
+            return result;
+        }
+        catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private Object follow(ProceedingJoinPoint joinPoint, String name, CompletableFuture<Object> inFlight)
+            throws Throwable {
+        waiting.incrementAndGet();
+        try {
+            Object result = inFlight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            count(name, "shared");
+            return result;
+        }
+        catch (ExecutionException e) {
+            count(name, "shared");
+            throw e.getCause();
+        }
+        catch (TimeoutException e) {
+            count(name, "timeout");
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        finally {
+            waiting.decrementAndGet();
+        }
+        return joinPoint.proceed();
+    }
+
+    private void count(String name, String outcome) {
+        Counter.builder(CALLS).tag("method", name).tag("outcome", outcome).register(registry).increment();
+    }
+
+    private record Key(String method, List<Object> args) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+
+    /**
+     * Caffeine caches sized by {@code spring.cache.caffeine.spec}. Puts and
+     * evictions issued inside a transaction are deferred until it commits, and
+     * a put that raced an eviction is dropped by {@link GuardedCaffeineCache}.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new GuardedCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        cacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts a {@link ConnectionLimitingDataSource} in front of the pool when
+ * {@code dscatalog.datasource.guard.enabled=true}, as the
+ * {@code virtual-threads} profile does.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dscatalog.datasource.guard.enabled", havingValue = "true")
+public class DataSourceGuardConfig {
+
+    public static final String WAITING = "dscatalog.datasource.guard.waiting";
+    public static final String AVAILABLE = "dscatalog.datasource.guard.available";
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourceWrapper(
+            @Value("${dscatalog.datasource.guard.max-concurrent:10}") int maxConcurrent,
+            @Value("${dscatalog.datasource.guard.timeout:5s}") Duration timeout,
+            ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    ConnectionLimitingDataSource guard =
+                            new ConnectionLimitingDataSource(dataSource, maxConcurrent, timeout);
+                    registry.ifAvailable(x -> {
+                        Gauge.builder(WAITING, guard, ConnectionLimitingDataSource::getWaiting).register(x);
+                        Gauge.builder(AVAILABLE, guard, ConnectionLimitingDataSource::getAvailable).register(x);
+                    });
+                    return guard;
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.devsuperior.dscatalog.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caffeine cache that refuses to store a value loaded before a concurrent
+ * eviction, the same generation check the response cache uses.
+ * <p>
+ * {@code @Cacheable} looks a key up, runs the method on a miss and puts the
+ * result from the same thread. The generation is remembered at the miss and
+ * every eviction or clear bumps it, so a value read before an update commits
+ * and put after the update's eviction is dropped instead of served until it
+ * expires. Puts that do not follow a miss on the same thread are dropped too.
+ */
+public class GuardedCaffeineCache extends CaffeineCache {
+
+    private record Miss(Object key, long generation) {
+    }
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ThreadLocal<Miss> pendingMiss = new ThreadLocal<>();
+
+    public GuardedCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            pendingMiss.set(new Miss(key, generation.get()));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = pendingMiss.get();
+        if (miss == null || !miss.key().equals(key)) {
+            return;
+        }
+        pendingMiss.remove();
+        if (generation.get() == miss.generation()) {
+            super.put(key, value);
+            if (generation.get() != miss.generation()) {
+                super.evict(key);
+            }
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        generation.incrementAndGet();
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generation.incrementAndGet();
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        generation.incrementAndGet();
+        return super.invalidate();
+    }
+}
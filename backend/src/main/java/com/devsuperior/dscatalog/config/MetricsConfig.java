@@ -0,0 +1,79 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.metrics.HibernateStatisticsListener;
+import com.devsuperior.dscatalog.metrics.MetricsAspect;
+import com.devsuperior.dscatalog.metrics.RequestMetricsFilter;
+import com.devsuperior.dscatalog.metrics.StatementBudget;
+import com.devsuperior.dscatalog.metrics.StatementMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MetricsAspect metricsAspect(MeterRegistry registry) {
+        return new MetricsAspect(registry);
+    }
+
+    @Bean
+    public StatementBudget statementBudget(@Value("${dscatalog.statements.budget:20}") int maxStatements,
+                                           @Value("${dscatalog.statements.sql-time-budget:500ms}") Duration maxSqlTime,
+                                           @Value("${dscatalog.statements.repeat-threshold:5}") int repeatThreshold) {
+        return new StatementBudget(maxStatements, maxSqlTime, repeatThreshold);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry registry,
+                                                                             StatementBudget budget) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(registry, budget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public HibernateStatisticsListener hibernateStatisticsListener(EntityManagerFactory entityManagerFactory) {
+        HibernateStatisticsListener listener = new HibernateStatisticsListener();
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, listener);
+        listeners.appendListeners(EventType.INIT_COLLECTION, listener);
+        return listener;
+    }
+
+    /**
+     * Wraps the pool in a datasource-proxy so every statement is timed and
+     * attributed; see {@link StatementMetricsListener}.
+     */
+    @Bean
+    public static BeanPostProcessor statementMetricsDataSourceWrapper(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new StatementMetricsListener(registry.getObject()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.responsecache.ResponseCache;
+import com.devsuperior.dscatalog.responsecache.ResponseCacheFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "dscatalog.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(@Value("${dscatalog.response-cache.max-entries:200}") long maxEntries,
+                                       MeterRegistry registry) {
+        ResponseCache cache = new ResponseCache(maxEntries);
+        Gauge.builder("dscatalog.response.cache.size", cache, ResponseCache::size).register(registry);
+        return cache;
+    }
+
+    /**
+     * Runs after {@code RequestMetricsFilter}, so cache hits are still
+     * counted as requests that issued no statements.
+     */
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(
+            ResponseCache cache, MeterRegistry registry,
+            @Value("${dscatalog.response-cache.max-page:2}") int maxPage) {
+        FilterRegistrationBean<ResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCacheFilter(cache, registry, maxPage));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
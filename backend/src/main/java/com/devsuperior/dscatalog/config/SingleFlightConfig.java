@@ -0,0 +1,19 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.coalescing.SingleFlightAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlightAspect singleFlightAspect(MeterRegistry registry,
+                                                 @Value("${dscatalog.single-flight.timeout:2s}") Duration timeout) {
+        return new SingleFlightAspect(registry, timeout);
+    }
+}
@@ -1,35 +1,76 @@
 package com.devsuperior.dscatalog.controller;
 
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.dto.SuggestionDTO;
 import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.ResourceVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping(value = "/categories")
 public class CategoryController {
 
+    public static final String APPROXIMATE_TOTAL_HEADER = "X-Approximate-Total-Count";
+
     @Autowired
     public CategoryService service;
 
     @GetMapping
     public ResponseEntity<Page<CategoryDTO>> findAll(Pageable pageable){
         Page<CategoryDTO> list = service.findAllPaged(pageable);
+        ResourceVersion version = ResourceVersion.of(list);
+        return ResponseEntity.ok()
+                .eTag(version.getETag())
+                .lastModified(version.getLastModified())
+                .body(list);
+    }
+
+    @GetMapping(params = "total=false")
+    public ResponseEntity<Slice<CategoryDTO>> findAllSliced(Pageable pageable){
+        Slice<CategoryDTO> list = service.findAllSliced(pageable);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        service.findApproximateCount()
+                .ifPresent(count -> response.header(APPROXIMATE_TOTAL_HEADER, String.valueOf(count)));
+        return response.body(list);
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<CategoryDTO>> findAllByCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "id") String sort) {
+        CursorPageDTO<CategoryDTO> list = service.findAllByCursor(after, sort, size);
+        return ResponseEntity.ok().body(list);
+    }
+
+    @GetMapping(value = "/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        List<SuggestionDTO> list = service.suggest(prefix, limit);
         return ResponseEntity.ok().body(list);
     }
 
     @GetMapping(value = "/{id}")
     public ResponseEntity<CategoryDTO> findById(@PathVariable Long id){
         CategoryDTO dto = service.findById(id);
-        return ResponseEntity.ok().body(dto);
+        ResourceVersion version = ResourceVersion.of(dto);
+        return ResponseEntity.ok()
+                .eTag(version.getETag())
+                .lastModified(version.getLastModified())
+                .body(dto);
     }
 
     @PostMapping
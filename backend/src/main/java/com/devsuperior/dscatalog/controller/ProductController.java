@@ -1,35 +1,175 @@
 package com.devsuperior.dscatalog.controller;
 
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.dto.ProductBatchDTO;
+import com.devsuperior.dscatalog.dto.ProductBulkDeleteSummaryDTO;
+import com.devsuperior.dscatalog.dto.ProductBulkUpdateDTO;
+import com.devsuperior.dscatalog.dto.ProductBulkUpdateSummaryDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.dto.ProductImportSummaryDTO;
+import com.devsuperior.dscatalog.dto.SuggestionDTO;
+import com.devsuperior.dscatalog.services.ProductBulkUpdateService;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.ProductImportService;
 import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.ResourceVersion;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping(value = "/products")
 public class ProductController {
 
+    public static final String APPROXIMATE_TOTAL_HEADER = "X-Approximate-Total-Count";
+
     @Autowired
     public ProductService service;
 
+    @Autowired
+    public ProductImportService importService;
+
+    @Autowired
+    public ProductExportService exportService;
+
+    @Autowired
+    public ProductBulkUpdateService bulkUpdateService;
+
     @GetMapping
-    public ResponseEntity<Page<ProductDTO>> findAll(Pageable pageable){
-        Page<ProductDTO> list = service.findAllPaged(pageable);
+    public ResponseEntity<Page<ProductDTO>> findAll(
+            ProductFilterDTO filter,
+            @RequestParam(defaultValue = "false") Boolean facets,
+            Pageable pageable){
+        Page<ProductDTO> list = filter.isEmpty() && !facets
+                ? service.findAllPaged(pageable)
+                : service.findAllFiltered(filter, pageable);
+        return ResponseEntity.ok().body(list);
+    }
+
+    /**
+     * Sparse listing, e.g. {@code fields=name,price}: only the requested fields
+     * (and the id) are selected and rendered. Not combinable with filters.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<Page<Map<String, Object>>> findAllSparse(
+            @RequestParam Set<String> fields,
+            ProductFilterDTO filter,
+            @RequestParam(defaultValue = "false") Boolean facets,
+            Pageable pageable){
+        if (!filter.isEmpty() || facets) {
+            throw new BadRequestException("fields cannot be combined with filters or facets");
+        }
+        Page<Map<String, Object>> list = service.findAllPaged(pageable, fields);
+        return ResponseEntity.ok().body(list);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProductBatchDTO> findAllByIds(@RequestParam List<Long> ids) {
+        ProductBatchDTO batch = service.findAllByIds(ids);
+        return ResponseEntity.ok().body(batch);
+    }
+
+    @GetMapping(params = "total=false")
+    public ResponseEntity<Slice<ProductDTO>> findAllSliced(Pageable pageable){
+        Slice<ProductDTO> list = service.findAllSliced(pageable);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        service.findApproximateCount()
+                .ifPresent(count -> response.header(APPROXIMATE_TOTAL_HEADER, String.valueOf(count)));
+        return response.body(list);
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<ProductDTO>> findAllByCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "id") String sort) {
+        CursorPageDTO<ProductDTO> list = service.findAllByCursor(after, sort, size);
+        return ResponseEntity.ok().body(list);
+    }
+
+    @GetMapping(value = "/search")
+    public ResponseEntity<Page<ProductDTO>> search(@RequestParam String q, Pageable pageable) {
+        Page<ProductDTO> list = service.search(q, pageable);
+        return ResponseEntity.ok().body(list);
+    }
+
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ProductExportService.Format exportFormat = ProductExportService.Format.fromString(format);
+        boolean compress = gzip != null ? gzip : acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (compress) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                exportService.export(gzipOut, exportFormat);
+                gzipOut.finish();
+            }
+            else {
+                exportService.export(out, exportFormat);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (compress) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping(value = "/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        List<SuggestionDTO> list = service.suggest(prefix, limit);
         return ResponseEntity.ok().body(list);
     }
 
+    /**
+     * Conditional requests are first checked against the product's current
+     * version, so a client that is up to date gets 304 without the product
+     * being loaded.
+     */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ProductDTO> findById(@PathVariable Long id){
+    public ResponseEntity<ProductDTO> findById(@PathVariable Long id, WebRequest request){
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            ResourceVersion current = service.findVersion(id);
+            if (request.checkNotModified(current.getETag(), current.getLastModified())) {
+                return null;
+            }
+        }
         ProductDTO dto = service.findById(id);
-        return ResponseEntity.ok().body(dto);
+        ResourceVersion version = ResourceVersion.of(dto);
+        return ResponseEntity.ok()
+                .eTag(version.getETag())
+                .lastModified(version.getLastModified())
+                .body(dto);
     }
 
     @PostMapping
@@ -40,12 +180,35 @@ public class ProductController {
         return ResponseEntity.created(uri).body(dto);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, ProductImportService.TEXT_CSV_VALUE})
+    public ResponseEntity<ProductImportSummaryDTO> insertBulk(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        ProductImportSummaryDTO summary = contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                ? importService.importJson(body)
+                : importService.importCsv(body, charset);
+        HttpStatus status = summary.getError() == null ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(summary);
+    }
+
+    @PatchMapping(value = "/bulk")
+    public ResponseEntity<ProductBulkUpdateSummaryDTO> updateBulk(@RequestBody ProductBulkUpdateDTO dto) {
+        ProductBulkUpdateSummaryDTO summary = bulkUpdateService.update(dto);
+        return ResponseEntity.ok().body(summary);
+    }
+
     @PutMapping(value = "/{id}")
     public ResponseEntity<ProductDTO> update(@PathVariable Long id, @RequestBody ProductDTO dto) {
         dto = service.update(id, dto);
         return ResponseEntity.ok().body(dto);
     }
 
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<ProductBulkDeleteSummaryDTO> deleteAll(@RequestParam List<Long> ids) {
+        ProductBulkDeleteSummaryDTO summary = service.deleteAll(ids);
+        return ResponseEntity.ok().body(summary);
+    }
+
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
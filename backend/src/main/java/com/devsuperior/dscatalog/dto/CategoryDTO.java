@@ -1,8 +1,10 @@
 package com.devsuperior.dscatalog.dto;
 
 import com.devsuperior.dscatalog.entities.Category;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.io.Serializable;
+import java.time.Instant;
 
 public class CategoryDTO implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -10,6 +12,12 @@ public class CategoryDTO implements Serializable {
     private Long id;
     private String name;
 
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant updatedAt;
+
     public CategoryDTO() {
     }
 
@@ -21,6 +29,8 @@ public class CategoryDTO implements Serializable {
     public CategoryDTO(Category entity){
         this.id = entity.getId();
         this.name = entity.getName();
+        this.version = entity.getVersion();
+        this.updatedAt = entity.getUpdatedAt();
     }
 
     public Long getId() {
@@ -39,5 +49,11 @@ public class CategoryDTO implements Serializable {
         this.name = name;
     }
 
+    public Long getVersion() {
+        return version;
+    }
 
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
 }
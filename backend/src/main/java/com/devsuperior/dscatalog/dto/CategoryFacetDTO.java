@@ -0,0 +1,34 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class CategoryFacetDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long categoryId;
+    private Long count;
+
+    public CategoryFacetDTO() {
+    }
+
+    public CategoryFacetDTO(Long categoryId, Long count) {
+        this.categoryId = categoryId;
+        this.count = count;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,31 @@
+package com.devsuperior.dscatalog.dto;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A page of results plus the facet counts of the whole filtered result set.
+ */
+public class FacetedPage<T> extends PageImpl<T> {
+    private static final long serialVersionUID = 1L;
+
+    private final List<CategoryFacetDTO> categoryFacets;
+    private final List<PriceFacetDTO> priceFacets;
+
+    public FacetedPage(List<T> content, Pageable pageable, long total,
+                       List<CategoryFacetDTO> categoryFacets, List<PriceFacetDTO> priceFacets) {
+        super(content, pageable, total);
+        this.categoryFacets = categoryFacets;
+        this.priceFacets = priceFacets;
+    }
+
+    public List<CategoryFacetDTO> getCategoryFacets() {
+        return categoryFacets;
+    }
+
+    public List<PriceFacetDTO> getPriceFacets() {
+        return priceFacets;
+    }
+}
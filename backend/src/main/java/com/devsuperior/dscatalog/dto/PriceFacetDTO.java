@@ -0,0 +1,44 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class PriceFacetDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Double min;
+    private Double max;
+    private Long count;
+
+    public PriceFacetDTO() {
+    }
+
+    public PriceFacetDTO(Double min, Double max, Long count) {
+        this.min = min;
+        this.max = max;
+        this.count = count;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,38 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+/**
+ * Relative price change, e.g. {@code percent = 5} for +5%, applied to every
+ * product of {@code categoryId}, or to every product when it is null.
+ */
+public class PriceRuleDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long categoryId;
+    private Double percent;
+
+    public PriceRuleDTO() {
+    }
+
+    public PriceRuleDTO(Long categoryId, Double percent) {
+        this.categoryId = categoryId;
+        this.percent = percent;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Double getPercent() {
+        return percent;
+    }
+
+    public void setPercent(Double percent) {
+        this.percent = percent;
+    }
+}
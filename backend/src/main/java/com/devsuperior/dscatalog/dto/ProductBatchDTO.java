@@ -0,0 +1,36 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductBatchDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<ProductDTO> content = new ArrayList<>();
+    private List<Long> missingIds = new ArrayList<>();
+
+    public ProductBatchDTO() {
+    }
+
+    public ProductBatchDTO(List<ProductDTO> content, List<Long> missingIds) {
+        this.content = content;
+        this.missingIds = missingIds;
+    }
+
+    public List<ProductDTO> getContent() {
+        return content;
+    }
+
+    public void setContent(List<ProductDTO> content) {
+        this.content = content;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -0,0 +1,26 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class ProductBulkDeleteSummaryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long requested;
+    private Long deleted;
+
+    public ProductBulkDeleteSummaryDTO() {
+    }
+
+    public ProductBulkDeleteSummaryDTO(Long requested, Long deleted) {
+        this.requested = requested;
+        this.deleted = deleted;
+    }
+
+    public Long getRequested() {
+        return requested;
+    }
+
+    public Long getDeleted() {
+        return deleted;
+    }
+}
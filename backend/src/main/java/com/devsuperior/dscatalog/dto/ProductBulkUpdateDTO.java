@@ -0,0 +1,31 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductBulkUpdateDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<ProductPatchDTO> changes = new ArrayList<>();
+    private List<PriceRuleDTO> rules = new ArrayList<>();
+
+    public ProductBulkUpdateDTO() {
+    }
+
+    public List<ProductPatchDTO> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ProductPatchDTO> changes) {
+        this.changes = changes;
+    }
+
+    public List<PriceRuleDTO> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<PriceRuleDTO> rules) {
+        this.rules = rules;
+    }
+}
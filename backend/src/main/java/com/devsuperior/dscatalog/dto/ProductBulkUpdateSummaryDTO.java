@@ -0,0 +1,53 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductBulkUpdateSummaryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long updated = 0L;
+    private Long repriced = 0L;
+    private Integer transactions = 0;
+    private Long millis;
+
+    private List<Long> missingIds = new ArrayList<>();
+
+    public ProductBulkUpdateSummaryDTO() {
+    }
+
+    public void addUpdated(long count) {
+        updated += count;
+        transactions++;
+    }
+
+    public void addRepriced(long count) {
+        repriced += count;
+        transactions++;
+    }
+
+    public Long getUpdated() {
+        return updated;
+    }
+
+    public Long getRepriced() {
+        return repriced;
+    }
+
+    public Integer getTransactions() {
+        return transactions;
+    }
+
+    public Long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(Long millis) {
+        this.millis = millis;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
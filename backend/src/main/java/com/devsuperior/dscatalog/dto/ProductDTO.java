@@ -2,6 +2,7 @@ package com.devsuperior.dscatalog.dto;
 
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.io.Serializable;
 import java.time.Instant;
@@ -19,6 +20,12 @@ public class ProductDTO implements Serializable {
     private String imgUrl;
     private Instant date;
 
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant updatedAt;
+
     private List<CategoryDTO> categories = new ArrayList<>();
 
     public ProductDTO() {
@@ -27,10 +34,12 @@ public class ProductDTO implements Serializable {
     public ProductDTO(Product entity) {
         this.id = entity.getId();
         this.name = entity.getName();
-        this.description = entity.getName();
+        this.description = entity.getDescription();
         this.price = entity.getPrice();
         this.imgUrl = entity.getImgUrl();
         this.date = entity.getDate();
+        this.version = entity.getVersion();
+        this.updatedAt = entity.getUpdatedAt();
     }
 
     public ProductDTO(Product entity, Set<Category> categories){
@@ -86,11 +95,19 @@ public class ProductDTO implements Serializable {
         this.date = date;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
     public List<CategoryDTO> getCategories() {
         return categories;
     }
 
     public void setCategories(List<CategoryDTO> categories) {
-        this.categories = categories;
+        this.categories = categories == null ? new ArrayList<>() : categories;
     }
 }
@@ -0,0 +1,71 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductFilterDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private List<Long> categoryId = new ArrayList<>();
+    private Double minPrice;
+    private Double maxPrice;
+    private Instant minDate;
+    private Instant maxDate;
+
+    public ProductFilterDTO() {
+    }
+
+    public boolean isEmpty() {
+        return categoryId.isEmpty() && minPrice == null && maxPrice == null && minDate == null && maxDate == null;
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean hasDateRange() {
+        return minDate != null || maxDate != null;
+    }
+
+    public List<Long> getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(List<Long> categoryId) {
+        this.categoryId = categoryId == null ? new ArrayList<>() : categoryId;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Double minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Instant getMinDate() {
+        return minDate;
+    }
+
+    public void setMinDate(Instant minDate) {
+        this.minDate = minDate;
+    }
+
+    public Instant getMaxDate() {
+        return maxDate;
+    }
+
+    public void setMaxDate(Instant maxDate) {
+        this.maxDate = maxDate;
+    }
+}
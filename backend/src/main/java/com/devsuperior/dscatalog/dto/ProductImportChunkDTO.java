@@ -0,0 +1,64 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class ProductImportChunkDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer chunk;
+    private Long inserted;
+    private Long rejected;
+    private Long millis;
+    private Double rowsPerSecond;
+
+    public ProductImportChunkDTO() {
+    }
+
+    public ProductImportChunkDTO(Integer chunk, Long inserted, Long rejected, Long millis) {
+        this.chunk = chunk;
+        this.inserted = inserted;
+        this.rejected = rejected;
+        this.millis = millis;
+        this.rowsPerSecond = (inserted + rejected) * 1000.0 / Math.max(millis, 1);
+    }
+
+    public Integer getChunk() {
+        return chunk;
+    }
+
+    public void setChunk(Integer chunk) {
+        this.chunk = chunk;
+    }
+
+    public Long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(Long inserted) {
+        this.inserted = inserted;
+    }
+
+    public Long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Long rejected) {
+        this.rejected = rejected;
+    }
+
+    public Long getMillis() {
+        return millis;
+    }
+
+    public void setMillis(Long millis) {
+        this.millis = millis;
+    }
+
+    public Double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(Double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
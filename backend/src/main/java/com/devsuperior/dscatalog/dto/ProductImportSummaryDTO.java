@@ -0,0 +1,64 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportSummaryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long inserted = 0L;
+    private Long rejected = 0L;
+    private Long millis;
+    private Double rowsPerSecond;
+    private String error;
+
+    private List<ProductImportChunkDTO> chunks = new ArrayList<>();
+    private List<String> rejections = new ArrayList<>();
+
+    public ProductImportSummaryDTO() {
+    }
+
+    public void addChunk(ProductImportChunkDTO chunk) {
+        chunks.add(chunk);
+        inserted += chunk.getInserted();
+        rejected += chunk.getRejected();
+    }
+
+    public void finish(long millis) {
+        this.millis = millis;
+        this.rowsPerSecond = (inserted + rejected) * 1000.0 / Math.max(millis, 1);
+    }
+
+    public Long getInserted() {
+        return inserted;
+    }
+
+    public Long getRejected() {
+        return rejected;
+    }
+
+    public Long getMillis() {
+        return millis;
+    }
+
+    public Double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<ProductImportChunkDTO> getChunks() {
+        return chunks;
+    }
+
+    public List<String> getRejections() {
+        return rejections;
+    }
+}
@@ -0,0 +1,34 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class SuggestionDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private String name;
+
+    public SuggestionDTO() {
+    }
+
+    public SuggestionDTO(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,30 @@
+package com.devsuperior.dscatalog.metrics;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Counts entities loaded and lazy collections initialized for the current
+ * request. Fetch-joined collections do not fire an initialize event, so the
+ * collection count is the number of extra round trips for lazy associations.
+ */
+public class HibernateStatisticsListener implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.recordEntityLoad();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.recordCollectionFetch();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.devsuperior.dscatalog.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public call into a {@code @Service} and every repository method.
+ * Repository calls also mark the thread so the statements they issue are
+ * attributed to them.
+ */
+@Aspect
+public class MetricsAspect {
+
+    public static final String SERVICE_CALLS = "dscatalog.service.calls";
+    public static final String REPOSITORY_CALLS = "dscatalog.repository.calls";
+
+    private static final String REPOSITORY_PACKAGE = "com.devsuperior.dscatalog.repositories.";
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return time(joinPoint, Timer.builder(SERVICE_CALLS).tag("class", service));
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), this::repositoryName);
+        RepositoryInvocation previous = RepositoryInvocation.enter(repository, joinPoint.getSignature().getName());
+        try {
+            return time(joinPoint, Timer.builder(REPOSITORY_CALLS).tag("repository", repository));
+        }
+        finally {
+            RepositoryInvocation.restore(previous);
+        }
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, Timer.Builder timer) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        }
+        catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        }
+        finally {
+            sample.stop(timer.tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    private String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (type.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
@@ -0,0 +1,33 @@
+package com.devsuperior.dscatalog.metrics;
+
+/**
+ * The repository method currently executing on this thread, so statements can
+ * be attributed to it. Statements issued outside a repository call, such as
+ * lazy loads, are reported as {@link #NONE}.
+ */
+public record RepositoryInvocation(String repository, String method) {
+
+    public static final RepositoryInvocation NONE = new RepositoryInvocation("none", "none");
+
+    private static final ThreadLocal<RepositoryInvocation> CURRENT = new ThreadLocal<>();
+
+    public static RepositoryInvocation current() {
+        RepositoryInvocation invocation = CURRENT.get();
+        return invocation == null ? NONE : invocation;
+    }
+
+    static RepositoryInvocation enter(String repository, String method) {
+        RepositoryInvocation previous = CURRENT.get();
+        CURRENT.set(new RepositoryInvocation(repository, method));
+        return previous;
+    }
+
+    static void restore(RepositoryInvocation previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        }
+        else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.devsuperior.dscatalog.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the statements, entities loaded and collections fetched of each
+ * request, tagged by route pattern, HTTP method and status, and checks it
+ * against the {@link StatementBudget}. Requests over budget or repeating an
+ * identical statement are logged and counted in {@link #VIOLATIONS}.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS = "dscatalog.request.statements";
+    public static final String ENTITIES_LOADED = "dscatalog.request.entities.loaded";
+    public static final String COLLECTIONS_FETCHED = "dscatalog.request.collections.fetched";
+    public static final String VIOLATIONS = "dscatalog.request.budget.violations";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final StatementBudget budget;
+
+    public RequestMetricsFilter(MeterRegistry registry, StatementBudget budget) {
+        this.registry = registry;
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.start();
+        try {
+            chain.doFilter(request, response);
+        }
+        finally {
+            RequestStatistics.end();
+            record(request, response, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        Tags tags = Tags.of("uri", uri,
+                "method", request.getMethod(),
+                "status", String.valueOf(response.getStatus()));
+        DistributionSummary.builder(STATEMENTS).tags(tags).register(registry).record(statistics.getStatements());
+        DistributionSummary.builder(ENTITIES_LOADED).tags(tags).register(registry).record(statistics.getEntitiesLoaded());
+        DistributionSummary.builder(COLLECTIONS_FETCHED).tags(tags).register(registry)
+                .record(statistics.getCollectionsFetched());
+
+        StatementBudgetReport report = budget.evaluate(statistics);
+        request.setAttribute(StatementBudgetReport.ATTRIBUTE, report);
+        if (report.isViolation()) {
+            flag(request, uri, report);
+        }
+    }
+
+    private void flag(HttpServletRequest request, String uri, StatementBudgetReport report) {
+        if (report.overStatementBudget()) {
+            violation(uri, "statements");
+        }
+        if (report.overSqlTimeBudget()) {
+            violation(uri, "sql-time");
+        }
+        if (report.hasRepeatedStatements()) {
+            violation(uri, "repeated-statement");
+        }
+        logger.warn("{} {} ran {} statements in {} ms (budget {} statements, {} ms); slowest {} ms: {}; repeated: {}",
+                request.getMethod(), request.getRequestURI(), report.statements(), report.sqlTime().toMillis(),
+                budget.getMaxStatements(), budget.getMaxSqlTime().toMillis(),
+                report.slowestStatementTime().toMillis(), report.slowestStatement(), report.repeatedStatements());
+    }
+
+    private void violation(String uri, String kind) {
+        Counter.builder(VIOLATIONS).tag("uri", uri).tag("kind", kind).register(registry).increment();
+    }
+}
@@ -0,0 +1,101 @@
+package com.devsuperior.dscatalog.metrics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Database work done while serving the current HTTP request. Bound to the
+ * request thread by {@link RequestMetricsFilter}; statements and Hibernate
+ * events on other threads are not attributed to any request.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long sqlNanos;
+    private long entitiesLoaded;
+    private long collectionsFetched;
+    private long slowestStatementNanos;
+    private String slowestStatement;
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    private RequestStatistics() {
+    }
+
+    public static RequestStatistics start() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql, long nanos) {
+        statements++;
+        sqlNanos += nanos;
+        String normalized = normalize(sql);
+        executions.merge(normalized, 1, Integer::sum);
+        if (slowestStatement == null || nanos > slowestStatementNanos) {
+            slowestStatement = normalized;
+            slowestStatementNanos = nanos;
+        }
+    }
+
+    void recordEntityLoad() {
+        entitiesLoaded++;
+    }
+
+    void recordCollectionFetch() {
+        collectionsFetched++;
+    }
+
+    /**
+     * Statements executed at least {@code threshold} times with identical SQL,
+     * most repeated first. Parameters are bound separately, so one lazy load
+     * per row shows up here as a single entry with a high count.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.entrySet().stream()
+                .filter(x -> x.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(x -> repeated.put(x.getKey(), x.getValue()));
+        return repeated;
+    }
+
+    private static String normalize(String sql) {
+        return sql == null ? "" : sql.strip().replaceAll("\\s+", " ");
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getSqlNanos() {
+        return sqlNanos;
+    }
+
+    public long getSlowestStatementNanos() {
+        return slowestStatementNanos;
+    }
+
+    public String getSlowestStatement() {
+        return slowestStatement;
+    }
+
+    public long getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public long getCollectionsFetched() {
+        return collectionsFetched;
+    }
+}
@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.metrics;
+
+import java.time.Duration;
+
+/**
+ * Limits a single request is expected to stay within: number of statements,
+ * total SQL time and how often one identical statement may repeat before it
+ * is reported as an N+1 pattern.
+ */
+public class StatementBudget {
+
+    private final int maxStatements;
+    private final Duration maxSqlTime;
+    private final int repeatThreshold;
+
+    public StatementBudget(int maxStatements, Duration maxSqlTime, int repeatThreshold) {
+        if (maxStatements < 1 || repeatThreshold < 2 || maxSqlTime.isNegative()) {
+            throw new IllegalArgumentException("Invalid statement budget");
+        }
+        this.maxStatements = maxStatements;
+        this.maxSqlTime = maxSqlTime;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public StatementBudgetReport evaluate(RequestStatistics statistics) {
+        return new StatementBudgetReport(statistics.getStatements(),
+                Duration.ofNanos(statistics.getSqlNanos()),
+                statistics.getSlowestStatement(),
+                Duration.ofNanos(statistics.getSlowestStatementNanos()),
+                statistics.repeatedStatements(repeatThreshold),
+                statistics.getStatements() > maxStatements,
+                statistics.getSqlNanos() > maxSqlTime.toNanos());
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public Duration getMaxSqlTime() {
+        return maxSqlTime;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+}
@@ -0,0 +1,23 @@
+package com.devsuperior.dscatalog.metrics;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Outcome of checking one request against the {@link StatementBudget}. Left on
+ * the request under {@link #ATTRIBUTE} so tests can assert on it.
+ */
+public record StatementBudgetReport(long statements, Duration sqlTime, String slowestStatement,
+                                    Duration slowestStatementTime, Map<String, Integer> repeatedStatements,
+                                    boolean overStatementBudget, boolean overSqlTimeBudget) {
+
+    public static final String ATTRIBUTE = StatementBudgetReport.class.getName();
+
+    public boolean hasRepeatedStatements() {
+        return !repeatedStatements.isEmpty();
+    }
+
+    public boolean isViolation() {
+        return overStatementBudget || overSqlTimeBudget || hasRepeatedStatements();
+    }
+}
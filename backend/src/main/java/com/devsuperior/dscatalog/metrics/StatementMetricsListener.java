@@ -0,0 +1,51 @@
+package com.devsuperior.dscatalog.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC execution, tagged with the repository method that issued it,
+ * and adds it to the current {@link RequestStatistics}.
+ */
+public class StatementMetricsListener implements QueryExecutionListener {
+
+    public static final String STATEMENTS = "dscatalog.repository.statements";
+
+    private static final String START = "dscatalog.start";
+
+    private final MeterRegistry registry;
+
+    public StatementMetricsListener(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long nanos = start == null ? TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime()) : System.nanoTime() - start;
+        RepositoryInvocation invocation = RepositoryInvocation.current();
+        Timer.builder(STATEMENTS)
+                .tag("repository", invocation.repository())
+                .tag("method", invocation.method())
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            for (QueryInfo query : queryInfoList) {
+                statistics.recordStatement(query.getQuery(), nanos / queryInfoList.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.devsuperior.dscatalog.projections;
+
+public interface CategoryPopularityProjection {
+
+    Long getId();
+    String getName();
+    Long getProductCount();
+}
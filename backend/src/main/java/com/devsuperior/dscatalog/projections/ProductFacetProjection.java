@@ -0,0 +1,11 @@
+package com.devsuperior.dscatalog.projections;
+
+import java.time.Instant;
+
+public interface ProductFacetProjection {
+
+    Long getId();
+    Double getPrice();
+    Instant getDate();
+    Long getCategoryId();
+}
@@ -0,0 +1,13 @@
+package com.devsuperior.dscatalog.projections;
+
+import java.time.Instant;
+
+public interface ProductIndexProjection {
+
+    Long getId();
+    String getName();
+    String getDescription();
+    Double getPrice();
+    Instant getDate();
+    Long getCategoryId();
+}
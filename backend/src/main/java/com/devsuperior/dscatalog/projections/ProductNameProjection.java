@@ -0,0 +1,10 @@
+package com.devsuperior.dscatalog.projections;
+
+import java.time.Instant;
+
+public interface ProductNameProjection {
+
+    Long getId();
+    String getName();
+    Instant getDate();
+}
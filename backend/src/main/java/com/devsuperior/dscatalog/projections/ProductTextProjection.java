@@ -0,0 +1,8 @@
+package com.devsuperior.dscatalog.projections;
+
+public interface ProductTextProjection {
+
+    Long getId();
+    String getName();
+    String getDescription();
+}
@@ -0,0 +1,11 @@
+package com.devsuperior.dscatalog.projections;
+
+import java.time.Instant;
+
+public interface ProductVersionProjection {
+
+    Long getVersion();
+    Instant getUpdatedAt();
+    Long getCategoryVersions();
+    Instant getCategoriesUpdatedAt();
+}
@@ -1,9 +1,72 @@
 package com.devsuperior.dscatalog.repositories;
 
 import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.projections.CategoryPopularityProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    @QueryHints(value = @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"), forCounting = true)
+    Page<Category> findAll(Pageable pageable);
+
+    @Query("SELECT obj.id AS id, obj.name AS name, COUNT(product.id) AS productCount "
+            + "FROM Category obj LEFT JOIN obj.products product GROUP BY obj.id, obj.name")
+    List<CategoryPopularityProjection> findPopularity();
+
+    @Query("SELECT obj FROM Category obj")
+    Slice<Category> findAllSliced(Pageable pageable);
+
+    @Query("SELECT obj FROM Category obj")
+    List<Category> findFirstPage(Pageable pageable);
+
+    @Query("SELECT obj FROM Category obj WHERE obj.id > :id")
+    List<Category> findAfterId(Long id, Pageable pageable);
+
+    @Query("SELECT obj FROM Category obj WHERE obj.id < :id")
+    List<Category> findBeforeId(Long id, Pageable pageable);
+
+    /*
+     * Name is nullable: NULLs sort last ascending and first descending, and a
+     * cursor sitting on a NULL name seeks through its own branch.
+     */
+
+    @Query("SELECT obj FROM Category obj ORDER BY obj.name ASC NULLS LAST, obj.id ASC")
+    List<Category> findFirstPageByNameAsc(Pageable pageable);
+
+    @Query("SELECT obj FROM Category obj WHERE obj.name > :name OR (obj.name = :name AND obj.id > :id) "
+            + "OR obj.name IS NULL ORDER BY obj.name ASC NULLS LAST, obj.id ASC")
+    List<Category> findAfterName(String name, Long id, Pageable pageable);
+
+    @Query("SELECT obj FROM Category obj WHERE obj.name IS NULL AND obj.id > :id "
+            + "ORDER BY obj.name ASC NULLS LAST, obj.id ASC")
+    List<Category> findAfterNullName(Long id, Pageable pageable);
+
+    @Query("SELECT obj FROM Category obj ORDER BY obj.name DESC NULLS FIRST, obj.id DESC")
+    List<Category> findFirstPageByNameDesc(Pageable pageable);
+
+    @Query("SELECT obj FROM Category obj WHERE obj.name < :name OR (obj.name = :name AND obj.id < :id) "
+            + "ORDER BY obj.name DESC NULLS FIRST, obj.id DESC")
+    List<Category> findBeforeName(String name, Long id, Pageable pageable);
+
+    @Query("SELECT obj FROM Category obj WHERE obj.name IS NOT NULL OR obj.id < :id "
+            + "ORDER BY obj.name DESC NULLS FIRST, obj.id DESC")
+    List<Category> findBeforeNullName(Long id, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_category"))
+    @Query(value = "DELETE FROM tb_category WHERE id = :id", nativeQuery = true)
+    int removeById(Long id);
 }
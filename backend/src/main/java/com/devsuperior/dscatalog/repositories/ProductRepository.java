@@ -1,9 +1,164 @@
 package com.devsuperior.dscatalog.repositories;
 
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+import com.devsuperior.dscatalog.projections.ProductFacetProjection;
+import com.devsuperior.dscatalog.projections.ProductIndexProjection;
+import com.devsuperior.dscatalog.projections.ProductNameProjection;
+import com.devsuperior.dscatalog.projections.ProductTextProjection;
+import com.devsuperior.dscatalog.projections.ProductVersionProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    @Query(value = "SELECT obj.id FROM Product obj",
+            countQuery = "SELECT COUNT(obj) FROM Product obj")
+    Page<Long> findProductIds(Pageable pageable);
+
+    @Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :ids")
+    List<Product> findProductsWithCategories(List<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT obj FROM Product obj ORDER BY obj.id")
+    Stream<Product> streamAllOrderById();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT obj.id AS id, obj.name AS name, obj.description AS description FROM Product obj")
+    Stream<ProductTextProjection> streamSearchableText();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT obj.id AS id, obj.name AS name, obj.date AS date FROM Product obj")
+    Stream<ProductNameProjection> streamNames();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT obj.id AS id, obj.price AS price, obj.date AS date, cat.id AS categoryId "
+            + "FROM Product obj LEFT JOIN obj.categories cat ORDER BY obj.id")
+    Stream<ProductFacetProjection> streamFacetRows();
+
+    @Query("SELECT obj.id FROM Product obj WHERE "
+            + "(:minPrice IS NULL OR obj.price >= :minPrice) AND (:maxPrice IS NULL OR obj.price <= :maxPrice) "
+            + "AND (:minDate IS NULL OR obj.date >= :minDate) AND (:maxDate IS NULL OR obj.date <= :maxDate)")
+    List<Long> findFilteredIds(Double minPrice, Double maxPrice, Instant minDate, Instant maxDate,
+                               Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE "
+            + "obj.id IN (SELECT p.id FROM Product p JOIN p.categories cat WHERE cat.id IN :categoryIds) "
+            + "AND (:minPrice IS NULL OR obj.price >= :minPrice) AND (:maxPrice IS NULL OR obj.price <= :maxPrice) "
+            + "AND (:minDate IS NULL OR obj.date >= :minDate) AND (:maxDate IS NULL OR obj.date <= :maxDate)")
+    List<Long> findFilteredIdsInCategories(List<Long> categoryIds, Double minPrice, Double maxPrice,
+                                           Instant minDate, Instant maxDate, Pageable pageable);
+
+    @Query("SELECT obj.id AS productId, cat.id AS categoryId, cat.name AS categoryName "
+            + "FROM Product obj JOIN obj.categories cat WHERE obj.id IN :ids")
+    List<ProductCategoryProjection> findCategoriesOfProducts(List<Long> ids);
+
+    @Query("SELECT obj.id AS id, obj.name AS name, obj.description AS description, obj.price AS price, "
+            + "obj.date AS date, cat.id AS categoryId FROM Product obj LEFT JOIN obj.categories cat WHERE obj.id IN :ids")
+    List<ProductIndexProjection> findIndexRowsByIdIn(List<Long> ids);
+
+    @Query("SELECT obj.version AS version, obj.updatedAt AS updatedAt, "
+            + "SUM(cat.version) AS categoryVersions, MAX(cat.updatedAt) AS categoriesUpdatedAt "
+            + "FROM Product obj LEFT JOIN obj.categories cat WHERE obj.id = :id "
+            + "GROUP BY obj.id, obj.version, obj.updatedAt")
+    Optional<ProductVersionProjection> findVersionById(Long id);
+
+    /**
+     * Single-statement delete; membership rows go with it through
+     * {@code ON DELETE CASCADE}. The query spaces limit second-level cache
+     * invalidation to the product tables; the persistence context is flushed
+     * and cleared so a deleted product cannot be read back from it.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_product"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_product_category")})
+    @Query(value = "DELETE FROM tb_product WHERE id = :id", nativeQuery = true)
+    int removeById(Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_product"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_product_category")})
+    @Query(value = "DELETE FROM tb_product WHERE id IN (:ids)", nativeQuery = true)
+    int removeByIdIn(List<Long> ids);
+
+    @Query("SELECT obj.id FROM Product obj")
+    Slice<Long> findProductIdsSlice(Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj")
+    List<Long> findFirstPageIds(Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.id > :id")
+    List<Long> findIdsAfterId(Long id, Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.id < :id")
+    List<Long> findIdsBeforeId(Long id, Pageable pageable);
+
+    /*
+     * Name and price are nullable: NULLs sort last ascending and first
+     * descending, matching PostgreSQL's default so the indexes still serve the
+     * ORDER BY, and a cursor sitting on a NULL key seeks through its own branch.
+     */
+
+    @Query("SELECT obj.id FROM Product obj ORDER BY obj.name ASC NULLS LAST, obj.id ASC")
+    List<Long> findFirstIdsByNameAsc(Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.name > :name OR (obj.name = :name AND obj.id > :id) "
+            + "OR obj.name IS NULL ORDER BY obj.name ASC NULLS LAST, obj.id ASC")
+    List<Long> findIdsAfterName(String name, Long id, Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.name IS NULL AND obj.id > :id "
+            + "ORDER BY obj.name ASC NULLS LAST, obj.id ASC")
+    List<Long> findIdsAfterNullName(Long id, Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj ORDER BY obj.name DESC NULLS FIRST, obj.id DESC")
+    List<Long> findFirstIdsByNameDesc(Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.name < :name OR (obj.name = :name AND obj.id < :id) "
+            + "ORDER BY obj.name DESC NULLS FIRST, obj.id DESC")
+    List<Long> findIdsBeforeName(String name, Long id, Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.name IS NOT NULL OR obj.id < :id "
+            + "ORDER BY obj.name DESC NULLS FIRST, obj.id DESC")
+    List<Long> findIdsBeforeNullName(Long id, Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj ORDER BY obj.price ASC NULLS LAST, obj.id ASC")
+    List<Long> findFirstIdsByPriceAsc(Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.price > :price OR (obj.price = :price AND obj.id > :id) "
+            + "OR obj.price IS NULL ORDER BY obj.price ASC NULLS LAST, obj.id ASC")
+    List<Long> findIdsAfterPrice(Double price, Long id, Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.price IS NULL AND obj.id > :id "
+            + "ORDER BY obj.price ASC NULLS LAST, obj.id ASC")
+    List<Long> findIdsAfterNullPrice(Long id, Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj ORDER BY obj.price DESC NULLS FIRST, obj.id DESC")
+    List<Long> findFirstIdsByPriceDesc(Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.price < :price OR (obj.price = :price AND obj.id < :id) "
+            + "ORDER BY obj.price DESC NULLS FIRST, obj.id DESC")
+    List<Long> findIdsBeforePrice(Double price, Long id, Pageable pageable);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.price IS NOT NULL OR obj.id < :id "
+            + "ORDER BY obj.price DESC NULLS FIRST, obj.id DESC")
+    List<Long> findIdsBeforeNullPrice(Long id, Pageable pageable);
 }
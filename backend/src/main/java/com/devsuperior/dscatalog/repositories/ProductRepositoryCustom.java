@@ -0,0 +1,15 @@
+package com.devsuperior.dscatalog.repositories;
+
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Selects the id and the given scalar properties of the products with the
+     * given ids, as tuples aliased by property name. Nothing is loaded into
+     * the persistence context.
+     */
+    List<Tuple> findFieldsByIdIn(List<Long> ids, List<String> fields);
+}
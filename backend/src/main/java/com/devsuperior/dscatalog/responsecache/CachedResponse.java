@@ -0,0 +1,8 @@
+package com.devsuperior.dscatalog.responsecache;
+
+/**
+ * A rendered 200 response: the JSON bytes, the same bytes gzip-compressed, and
+ * the headers needed to replay it.
+ */
+public record CachedResponse(byte[] body, byte[] gzipped, String contentType, String eTag, String lastModified) {
+}
@@ -0,0 +1,70 @@
+package com.devsuperior.dscatalog.responsecache;
+
+import com.devsuperior.dscatalog.services.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rendered listing responses by namespace ({@code products}, {@code categories})
+ * and normalized query. Writes invalidate whole namespaces after they commit;
+ * a category change also drops product listings, which embed category names.
+ * <p>
+ * Each namespace has a generation that invalidation bumps. A response is only
+ * stored if the generation it was rendered under is still current, so a
+ * listing read before a write cannot be cached after it.
+ */
+public class ResponseCache {
+
+    public static final String PRODUCTS = "products";
+    public static final String CATEGORIES = "categories";
+
+    private final Cache<String, CachedResponse> responses;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCache(long maxEntries) {
+        this.responses = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    public CachedResponse get(String namespace, String key) {
+        return responses.getIfPresent(namespace + key);
+    }
+
+    public long generation(String namespace) {
+        return generations.computeIfAbsent(namespace, x -> new AtomicLong()).get();
+    }
+
+    public void put(String namespace, String key, long generation, CachedResponse response) {
+        if (generation(namespace) == generation) {
+            responses.put(namespace + key, response);
+            if (generation(namespace) != generation) {
+                responses.invalidate(namespace + key);
+            }
+        }
+    }
+
+    public void invalidate(String namespace) {
+        generations.computeIfAbsent(namespace, x -> new AtomicLong()).incrementAndGet();
+        responses.asMap().keySet().removeIf(key -> key.startsWith(namespace));
+    }
+
+    public long size() {
+        return responses.estimatedSize();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate(PRODUCTS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate(CATEGORIES);
+        invalidate(PRODUCTS);
+    }
+}
@@ -0,0 +1,190 @@
+package com.devsuperior.dscatalog.responsecache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the first pages of {@code GET /products} and {@code GET /categories}
+ * from {@link ResponseCache} as ready-made bytes, gzip-compressed when the
+ * client accepts it, bypassing the database, Jackson and on-the-fly
+ * compression. Only requests whose parameters are limited to {@code page},
+ * {@code size} and {@code sort} are cached; they are keyed by the normalized
+ * pageable, so {@code sort=name} and {@code sort=name,asc} share an entry.
+ * Matching {@code If-None-Match} headers are answered with 304.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String CACHE_HEADER = "X-Response-Cache";
+    public static final String REQUESTS = "dscatalog.response.cache.requests";
+
+    private static final Map<String, String> NAMESPACES =
+            Map.of("/products", ResponseCache.PRODUCTS, "/categories", ResponseCache.CATEGORIES);
+    private static final Set<String> PAGEABLE_PARAMETERS = Set.of("page", "size", "sort");
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final ResponseCache cache;
+    private final MeterRegistry registry;
+    private final int maxPage;
+
+    public ResponseCacheFilter(ResponseCache cache, MeterRegistry registry, int maxPage) {
+        this.cache = cache;
+        this.registry = registry;
+        this.maxPage = maxPage;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !NAMESPACES.containsKey(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String namespace = NAMESPACES.get(path(request));
+        String key = normalizedKey(request);
+        // A request inside a transaction may see uncommitted writes
+        if (key == null || !acceptsJson(request) || TransactionSynchronizationManager.isActualTransactionActive()) {
+            count(namespace, "bypass");
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CachedResponse cached = cache.get(namespace, key);
+        if (cached != null) {
+            count(namespace, "hit");
+            write(request, response, cached, "HIT");
+            return;
+        }
+
+        count(namespace, "miss");
+        long generation = cache.generation(namespace);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(CACHE_HEADER, "MISS");
+        // Later hits for this key may be gzipped, so the uncompressed miss must vary too
+        wrapper.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null
+                && wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(wrapper.getContentType()))) {
+            byte[] body = wrapper.getContentAsByteArray();
+            cache.put(namespace, key, generation, new CachedResponse(body, gzip(body), wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.ETAG), wrapper.getHeader(HttpHeaders.LAST_MODIFIED)));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached, String result)
+            throws IOException {
+        response.setHeader(CACHE_HEADER, result);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cached.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.eTag());
+        }
+        if (cached.lastModified() != null) {
+            response.setHeader(HttpHeaders.LAST_MODIFIED, cached.lastModified());
+        }
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (cached.eTag() != null && ifNoneMatch != null
+                && (ifNoneMatch.contains(cached.eTag()) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = cached.body();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+            body = cached.gzipped();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * {@code ?page=&size=&sort=} in canonical form, or null when the request
+     * carries other parameters or asks for a page past {@code maxPage}.
+     */
+    private String normalizedKey(HttpServletRequest request) {
+        if (!PAGEABLE_PARAMETERS.containsAll(request.getParameterMap().keySet())) {
+            return null;
+        }
+        int page;
+        int size;
+        try {
+            page = request.getParameter("page") == null ? 0 : Integer.parseInt(request.getParameter("page"));
+            size = request.getParameter("size") == null ? DEFAULT_PAGE_SIZE : Integer.parseInt(request.getParameter("size"));
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+        if (page < 0 || page > maxPage || size < 1) {
+            return null;
+        }
+        StringJoiner sort = new StringJoiner(";");
+        String[] sortParameters = request.getParameterValues("sort");
+        if (sortParameters != null) {
+            for (String parameter : sortParameters) {
+                String[] parts = parameter.split(",");
+                String last = parts[parts.length - 1].trim().toLowerCase(Locale.ROOT);
+                boolean hasDirection = last.equals("asc") || last.equals("desc");
+                String direction = hasDirection ? last : "asc";
+                for (int i = 0; i < parts.length - (hasDirection ? 1 : 0); i++) {
+                    sort.add(parts[i].trim() + ":" + direction);
+                }
+            }
+        }
+        return "?page=" + page + "&size=" + size + "&sort=" + sort;
+    }
+
+    private boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(x -> x.includes(MediaType.APPLICATION_JSON));
+        }
+        catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void count(String namespace, String result) {
+        Counter.builder(REQUESTS).tag("cache", namespace).tag("result", result).register(registry).increment();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Row count that is computed in the background instead of on every listing
+ * request. Writes invalidate it and the next {@link #refresh()} recounts, so
+ * readers either get a recent total or nothing at all.
+ */
+public class ApproximateCount {
+
+    private final LongSupplier counter;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Long value;
+    private volatile Instant refreshedAt = Instant.EPOCH;
+
+    public ApproximateCount(LongSupplier counter) {
+        this.counter = counter;
+    }
+
+    public Optional<Long> get() {
+        return Optional.ofNullable(value);
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        value = null;
+    }
+
+    public void refresh(Duration maxAge) {
+        if (value != null && refreshedAt.plus(maxAge).isAfter(Instant.now())) {
+            return;
+        }
+        long observed = generation.get();
+        long count = counter.getAsLong();
+        if (generation.get() == observed) {
+            value = count;
+            refreshedAt = Instant.now();
+        }
+    }
+}
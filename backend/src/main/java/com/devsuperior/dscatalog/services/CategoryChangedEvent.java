@@ -0,0 +1,37 @@
+package com.devsuperior.dscatalog.services;
+
+/**
+ * Published by {@link CategoryService} writes, see {@link ProductChangedEvent}.
+ */
+public class CategoryChangedEvent {
+
+    private final Long id;
+    private final boolean deleted;
+    private final String name;
+
+    private CategoryChangedEvent(Long id, boolean deleted, String name) {
+        this.id = id;
+        this.deleted = deleted;
+        this.name = name;
+    }
+
+    public static CategoryChangedEvent saved(Long id, String name) {
+        return new CategoryChangedEvent(id, false, name);
+    }
+
+    public static CategoryChangedEvent deleted(Long id) {
+        return new CategoryChangedEvent(id, true, null);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -1,29 +1,65 @@
 package com.devsuperior.dscatalog.services;
 
 
+import com.devsuperior.dscatalog.coalescing.SingleFlight;
+import com.devsuperior.dscatalog.config.CacheConfig;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.SuggestionDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.search.SuggestionIndex;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CategoryService {
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "name");
+
     @Autowired
     public CategoryRepository repository;
 
+    @Autowired
+    public CacheManager cacheManager;
+
+    @Autowired
+    public SuggestionIndex suggestionIndex;
+
+    @Autowired
+    public ApplicationEventPublisher eventPublisher;
+
+    @Value("${dscatalog.count-cache.enabled:true}")
+    private boolean countCacheEnabled;
+
+    @Value("${dscatalog.count-cache.max-age:60s}")
+    private Duration countCacheMaxAge;
+
+    private final ApproximateCount approximateCount = new ApproximateCount(() -> repository.count());
+
+    @SingleFlight
     @Transactional(readOnly = true)
     public Page<CategoryDTO> findAllPaged(Pageable pageable) {
         Page<Category> list = repository.findAll(pageable);
@@ -39,6 +75,58 @@ public class CategoryService {
      */
     }
 
+    @Transactional(readOnly = true)
+    public Slice<CategoryDTO> findAllSliced(Pageable pageable) {
+        Slice<Category> list = repository.findAllSliced(pageable);
+        return list.map(x -> new CategoryDTO(x));
+    }
+
+    public Optional<Long> findApproximateCount() {
+        return countCacheEnabled ? approximateCount.get() : Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${dscatalog.count-cache.refresh-interval:5000}")
+    public void refreshApproximateCount() {
+        if (countCacheEnabled) {
+            approximateCount.refresh(countCacheMaxAge);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CategoryDTO> findAllByCursor(String after, String sort, int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        KeysetCursor cursor = after.isEmpty()
+                ? KeysetCursor.start(sort, KEYSET_PROPERTIES)
+                : KeysetCursor.decode(after, KEYSET_PROPERTIES);
+
+        List<Category> list = seekCategories(cursor, cursor.lookAhead(size));
+        boolean hasNext = list.size() > size;
+        if (hasNext) {
+            list = list.subList(0, size);
+        }
+        List<CategoryDTO> content = list.stream().map(x -> new CategoryDTO(x)).toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            CategoryDTO last = content.get(content.size() - 1);
+            Object value = "name".equals(cursor.getProperty()) ? last.getName() : null;
+            nextCursor = cursor.next(last.getId(), value).encode();
+        }
+        return new CursorPageDTO<>(content, size, nextCursor);
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive");
+        }
+        return suggestionIndex.suggestCategories(prefix, Math.min(limit, suggestionIndex.getTopK())).stream()
+                .map(x -> new SuggestionDTO(x.id(), x.name()))
+                .toList();
+    }
+
+    @SingleFlight
     @Transactional(readOnly = true)
     public CategoryDTO findById(Long id) {
         Optional<Category> obj = repository.findById(id);
@@ -52,6 +140,8 @@ public class CategoryService {
       Category entity = new Category();
       entity.setName(dto.getName());
       entity = repository.save(entity);
+      approximateCount.invalidate();
+      eventPublisher.publishEvent(CategoryChangedEvent.saved(entity.getId(), entity.getName()));
       return new CategoryDTO(entity);
     }
 
@@ -59,8 +149,13 @@ public class CategoryService {
     public CategoryDTO update(Long id, CategoryDTO dto) {
         try {
             Category entity = repository.getReferenceById(id);
+            boolean renamed = !Objects.equals(entity.getName(), dto.getName());
             entity.setName(dto.getName());
             entity = repository.save(entity);
+            if (renamed) {
+                evictCachedProductsOf(id);
+                eventPublisher.publishEvent(CategoryChangedEvent.saved(id, entity.getName()));
+            }
             return new CategoryDTO(entity);
         }
         catch (EntityNotFoundException e) {
@@ -68,10 +163,57 @@ public class CategoryService {
         }
     }
 
+    private void evictCachedProductsOf(Long categoryId) {
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (products == null) {
+            return;
+        }
+        if (products.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            nativeCache.asMap().forEach((key, value) -> {
+                if (value instanceof ProductDTO product && product.getCategories().stream()
+                        .anyMatch(cat -> categoryId.equals(cat.getId()))) {
+                    products.evict(key);
+                }
+            });
+        }
+        else {
+            products.clear();
+        }
+    }
+
+    private List<Category> seekCategories(KeysetCursor cursor, Pageable pageable) {
+        boolean ascending = cursor.isAscending();
+        if (!"name".equals(cursor.getProperty())) {
+            if (!cursor.hasPosition()) {
+                return repository.findFirstPage(pageable);
+            }
+            return ascending
+                    ? repository.findAfterId(cursor.getId(), pageable)
+                    : repository.findBeforeId(cursor.getId(), pageable);
+        }
+        if (!cursor.hasPosition()) {
+            return ascending
+                    ? repository.findFirstPageByNameAsc(pageable)
+                    : repository.findFirstPageByNameDesc(pageable);
+        }
+        if (cursor.getValue() == null) {
+            return ascending
+                    ? repository.findAfterNullName(cursor.getId(), pageable)
+                    : repository.findBeforeNullName(cursor.getId(), pageable);
+        }
+        return ascending
+                ? repository.findAfterName(cursor.getValue(), cursor.getId(), pageable)
+                : repository.findBeforeName(cursor.getValue(), cursor.getId(), pageable);
+    }
+
+    @Transactional
     public void delete(Long id) {
         try {
-            if (repository.existsById(id)) {repository.deleteById(id);}
-            else {throw new ResourceNotFoundException("Id not found " + id);}
+            if (repository.removeById(id) == 0) {
+                throw new ResourceNotFoundException("Id not found " + id);
+            }
+            approximateCount.invalidate();
+            eventPublisher.publishEvent(CategoryChangedEvent.deleted(id));
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Integrity violation");
         }
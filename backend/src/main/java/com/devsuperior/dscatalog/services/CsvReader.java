@@ -0,0 +1,94 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 style CSV one record at a time, so arbitrarily large bodies
+ * can be consumed without holding more than the current record in memory.
+ * Quoted fields may contain separators, doubled quotes and line breaks.
+ */
+public class CsvReader implements Closeable {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final BufferedReader reader;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * @return the fields of the next record, or {@code null} at end of input
+     */
+    public List<String> readRecord() throws IOException {
+        int c = reader.read();
+        while (c == '\r' || c == '\n') {
+            c = reader.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedCsvException("Unterminated quoted field");
+                }
+                if (c == QUOTE) {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                    }
+                    else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                }
+                else {
+                    field.append((char) c);
+                }
+            }
+            else if (c == QUOTE && field.isEmpty()) {
+                quoted = true;
+            }
+            else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            }
+            else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Input that is readable but not valid CSV, as opposed to an I/O failure.
+     */
+    public static class MalformedCsvException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public MalformedCsvException(String msg) {
+            super(msg);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position of a keyset (seek) listing: the sort property and direction plus the
+ * sort value and id of the last row already returned. Travels to clients as an
+ * opaque url-safe token so they cannot tamper with the ordering. A NULL sort
+ * value is encoded by leaving the value out, so it stays distinct from an empty
+ * string; NULLs sort after every value in ascending order.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final Long id;
+    private final String value;
+
+    private KeysetCursor(String property, Sort.Direction direction, Long id, String value) {
+        this.property = property;
+        this.direction = direction;
+        this.id = id;
+        this.value = value;
+    }
+
+    public static KeysetCursor start(String sort, Set<String> properties) {
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!properties.contains(property)) {
+            throw new BadRequestException("Cursor pagination does not support sorting by " + property);
+        }
+        try {
+            Sort.Direction direction = parts.length > 1
+                    ? Sort.Direction.fromString(parts[1].trim())
+                    : Sort.Direction.ASC;
+            return new KeysetCursor(property, direction, null, null);
+        }
+        catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sort direction");
+        }
+    }
+
+    public static KeysetCursor decode(String token, Set<String> properties) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        }
+        catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        String[] parts = decoded.split("\\" + SEPARATOR, 4);
+        if (parts.length < 3 || !properties.contains(parts[0])) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            return new KeysetCursor(parts[0], Sort.Direction.fromString(parts[1]),
+                    Long.valueOf(parts[2]), parts.length == 4 ? parts[3] : null);
+        }
+        catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public KeysetCursor next(Long id, Object value) {
+        return new KeysetCursor(property, direction, id, value == null ? null : value.toString());
+    }
+
+    public String encode() {
+        String raw = property + SEPARATOR + direction.name() + SEPARATOR + id;
+        if (value != null) {
+            raw += SEPARATOR + value;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Fetches one row more than requested so the caller knows whether a next
+     * page exists without counting. Only the id is sorted here; seeks on a
+     * nullable property carry their own {@code ORDER BY ... NULLS LAST}.
+     */
+    public Pageable lookAhead(int size) {
+        return "id".equals(property)
+                ? PageRequest.of(0, size + 1, Sort.by(direction, "id"))
+                : PageRequest.ofSize(size + 1);
+    }
+
+    public boolean hasPosition() {
+        return id != null;
+    }
+
+    public boolean isAscending() {
+        return direction.isAscending();
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Double getValueAsDouble() {
+        try {
+            return value == null ? null : Double.valueOf(value);
+        }
+        catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.config.CacheConfig;
+import com.devsuperior.dscatalog.dto.PriceRuleDTO;
+import com.devsuperior.dscatalog.dto.ProductBulkUpdateDTO;
+import com.devsuperior.dscatalog.dto.ProductBulkUpdateSummaryDTO;
+import com.devsuperior.dscatalog.dto.ProductPatchDTO;
+import com.devsuperior.dscatalog.projections.ProductIndexProjection;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repricing and field corrections over many products without loading them:
+ * per-id patches run as one batched {@code UPDATE ... COALESCE} per chunk and
+ * price rules walk the matching ids by keyset, one chunk at a time, with one
+ * set-based {@code UPDATE ... WHERE id IN} that re-checks the rule, each chunk
+ * in its own transaction. Only the current chunk of ids is held in memory. Every statement bumps {@code version} and
+ * {@code updated_at} like an entity update would, so optimistic locks and
+ * conditional GETs see the change. The indexed fields of each chunk are then
+ * read back in one projection query to publish {@link ProductChangedEvent}s.
+ */
+@Service
+public class ProductBulkUpdateService {
+
+    private static final String PATCH_SQL = "UPDATE tb_product SET name = COALESCE(?, name), "
+            + "description = COALESCE(?, description), price = COALESCE(?, price), img_url = COALESCE(?, img_url), "
+            + "date = COALESCE(?, date), version = version + 1, updated_at = ? WHERE id = ?";
+    private static final int[] PATCH_TYPES =
+            {Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.BIGINT};
+    private static final String REPRICE_SQL = "UPDATE tb_product SET price = price * :factor, "
+            + "version = version + 1, updated_at = :now WHERE id IN (:ids)";
+    private static final String REPRICE_IN_CATEGORY_SQL = REPRICE_SQL
+            + " AND id IN (SELECT product_id FROM tb_product_category WHERE category_id = :categoryId)";
+    private static final String NEXT_IDS_SQL = "SELECT id FROM tb_product WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String NEXT_IDS_IN_CATEGORY_SQL = "SELECT product_id FROM tb_product_category "
+            + "WHERE category_id = ? AND product_id > ? ORDER BY product_id LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${dscatalog.bulk-update.chunk-size:1000}")
+    private int chunkSize;
+
+    public ProductBulkUpdateSummaryDTO update(ProductBulkUpdateDTO dto) {
+        dto.getChanges().forEach(this::validate);
+        dto.getRules().forEach(this::validate);
+
+        long start = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ProductBulkUpdateSummaryDTO summary = new ProductBulkUpdateSummaryDTO();
+        List<ProductPatchDTO> changes = dto.getChanges();
+        for (int from = 0; from < changes.size(); from += chunkSize) {
+            List<ProductPatchDTO> chunk = changes.subList(from, Math.min(from + chunkSize, changes.size()));
+            transactionTemplate.executeWithoutResult(status -> patch(chunk, summary));
+        }
+        for (PriceRuleDTO rule : dto.getRules()) {
+            long after = 0;
+            List<Long> chunk;
+            do {
+                long lastId = after;
+                chunk = transactionTemplate.execute(status -> reprice(rule, lastId, summary));
+                if (!chunk.isEmpty()) {
+                    after = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == chunkSize);
+        }
+        summary.setMillis((System.nanoTime() - start) / 1_000_000);
+        return summary;
+    }
+
+    private void patch(List<ProductPatchDTO> chunk, ProductBulkUpdateSummaryDTO summary) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(chunk.size());
+        for (ProductPatchDTO change : chunk) {
+            rows.add(new Object[] {change.getName(), change.getDescription(), change.getPrice(), change.getImgUrl(),
+                    change.getDate() == null ? null : Timestamp.from(change.getDate()), now, change.getId()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(PATCH_SQL, rows, PATCH_TYPES);
+
+        List<Long> updatedIds = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            Long id = chunk.get(i).getId();
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                updatedIds.add(id);
+            }
+            else {
+                summary.getMissingIds().add(id);
+            }
+        }
+        publishChanges(updatedIds);
+        summary.addUpdated(updatedIds.size());
+    }
+
+    /**
+     * Reprices the next chunk of products matching the rule after
+     * {@code lastId} and returns the ids it selected, so the caller can seek
+     * past them.
+     */
+    private List<Long> reprice(PriceRuleDTO rule, long lastId, ProductBulkUpdateSummaryDTO summary) {
+        Long categoryId = rule.getCategoryId();
+        List<Long> ids = categoryId == null
+                ? jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, lastId, chunkSize)
+                : jdbcTemplate.queryForList(NEXT_IDS_IN_CATEGORY_SQL, Long.class, categoryId, lastId, chunkSize);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("factor", 1 + rule.getPercent() / 100)
+                .addValue("now", Timestamp.from(Instant.now()))
+                .addValue("ids", ids)
+                .addValue("categoryId", categoryId);
+        int count = namedParameterJdbcTemplate.update(
+                categoryId == null ? REPRICE_SQL : REPRICE_IN_CATEGORY_SQL, parameters);
+        publishChanges(ids);
+        summary.addRepriced(count);
+        return ids;
+    }
+
+    /**
+     * Evictions and events are both deferred until the chunk commits.
+     */
+    private void publishChanges(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, ProductIndexProjection> rows = new LinkedHashMap<>();
+        Map<Long, Set<Long>> categoryIds = new LinkedHashMap<>();
+        for (ProductIndexProjection row : repository.findIndexRowsByIdIn(ids)) {
+            rows.putIfAbsent(row.getId(), row);
+            Set<Long> categories = categoryIds.computeIfAbsent(row.getId(), x -> new HashSet<>());
+            if (row.getCategoryId() != null) {
+                categories.add(row.getCategoryId());
+            }
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        rows.forEach((id, row) -> {
+            cache.evict(id);
+            eventPublisher.publishEvent(ProductChangedEvent.saved(id, row.getName(), row.getDescription(),
+                    row.getPrice(), row.getDate(), categoryIds.get(id)));
+        });
+    }
+
+    private void validate(ProductPatchDTO change) {
+        if (change.getId() == null) {
+            throw new BadRequestException("Every change needs an id");
+        }
+        if (change.getName() != null && change.getName().isBlank()) {
+            throw new BadRequestException("name of product " + change.getId() + " must not be blank");
+        }
+        if (change.getPrice() != null && change.getPrice() < 0) {
+            throw new BadRequestException("price of product " + change.getId() + " must be zero or positive");
+        }
+    }
+
+    private void validate(PriceRuleDTO rule) {
+        if (rule.getPercent() == null || rule.getPercent() <= -100) {
+            throw new BadRequestException("percent must be greater than -100");
+        }
+    }
+}
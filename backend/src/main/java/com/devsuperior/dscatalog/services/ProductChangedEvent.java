@@ -0,0 +1,79 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published by {@link ProductService} writes. Carries a snapshot of the indexed
+ * fields so listeners running after commit never touch the detached entity.
+ */
+public class ProductChangedEvent {
+
+    private final Long id;
+    private final boolean deleted;
+    private final String name;
+    private final String description;
+    private final Double price;
+    private final Instant date;
+    private final Set<Long> categoryIds;
+
+    private ProductChangedEvent(Long id, boolean deleted, String name, String description,
+                                Double price, Instant date, Set<Long> categoryIds) {
+        this.id = id;
+        this.deleted = deleted;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.date = date;
+        this.categoryIds = categoryIds;
+    }
+
+    public static ProductChangedEvent saved(Product entity) {
+        Set<Long> categoryIds = entity.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        return new ProductChangedEvent(entity.getId(), false, entity.getName(), entity.getDescription(),
+                entity.getPrice(), entity.getDate(), categoryIds);
+    }
+
+    public static ProductChangedEvent saved(Long id, String name, String description, Double price,
+                                            Instant date, Set<Long> categoryIds) {
+        return new ProductChangedEvent(id, false, name, description, price, date, Set.copyOf(categoryIds));
+    }
+
+    public static ProductChangedEvent deleted(Long id) {
+        return new ProductChangedEvent(id, true, null, null, null, null, Set.of());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public Instant getDate() {
+        return date;
+    }
+
+    public Set<Long> getCategoryIds() {
+        return categoryIds;
+    }
+}
@@ -0,0 +1,190 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.projections.ProductCategoryProjection;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalog straight to an output stream. Products are read
+ * through a forward-only cursor, their categories are loaded per batch with a
+ * single projection query and the persistence context is cleared after every
+ * batch, so memory stays flat whatever the catalog size.
+ */
+@Service
+public class ProductExportService {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final List<String> CSV_HEADER =
+            List.of("id", "name", "description", "price", "imgUrl", "date", "categories");
+
+    public enum Format {
+        NDJSON(NDJSON_VALUE),
+        CSV(ProductImportService.TEXT_CSV_VALUE);
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public static Format fromString(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            }
+            catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${dscatalog.export.batch-size:500}")
+    private int batchSize;
+
+    @Transactional(readOnly = true)
+    public long export(OutputStream out, Format format) throws IOException {
+        ExportWriter writer = format == Format.CSV ? new CsvExportWriter(out) : new NdjsonExportWriter(out);
+        long rows = 0;
+        try (Stream<Product> stream = repository.streamAllOrderById()) {
+            Iterator<Product> it = stream.iterator();
+            List<Product> batch = new ArrayList<>(batchSize);
+            while (it.hasNext()) {
+                batch.add(it.next());
+                if (batch.size() == batchSize) {
+                    rows += writeBatch(batch, writer);
+                }
+            }
+            rows += writeBatch(batch, writer);
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private int writeBatch(List<Product> batch, ExportWriter writer) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = batch.stream().map(Product::getId).toList();
+        Map<Long, List<CategoryDTO>> categories = new HashMap<>();
+        for (ProductCategoryProjection row : repository.findCategoriesOfProducts(ids)) {
+            categories.computeIfAbsent(row.getProductId(), x -> new ArrayList<>())
+                    .add(new CategoryDTO(row.getCategoryId(), row.getCategoryName()));
+        }
+        for (Product product : batch) {
+            ProductDTO dto = new ProductDTO(product);
+            dto.getCategories().addAll(categories.getOrDefault(product.getId(), List.of()));
+            writer.write(dto);
+        }
+        int written = batch.size();
+        batch.clear();
+        entityManager.clear();
+        return written;
+    }
+
+    private interface ExportWriter {
+
+        void write(ProductDTO dto) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private class NdjsonExportWriter implements ExportWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter objectWriter;
+
+        NdjsonExportWriter(OutputStream out) throws IOException {
+            generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(ProductDTO dto) throws IOException {
+            objectWriter.writeValue(generator, dto);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvExportWriter implements ExportWriter {
+
+        private final CsvWriter writer;
+
+        CsvExportWriter(OutputStream out) throws IOException {
+            writer = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.writeRecord(CSV_HEADER);
+        }
+
+        @Override
+        public void write(ProductDTO dto) throws IOException {
+            String categories = dto.getCategories().stream()
+                    .map(cat -> String.valueOf(cat.getId()))
+                    .collect(Collectors.joining(ProductImportService.CATEGORY_SEPARATOR));
+            writer.writeRecord(Arrays.asList(
+                    text(dto.getId()),
+                    dto.getName(),
+                    dto.getDescription(),
+                    text(dto.getPrice()),
+                    dto.getImgUrl(),
+                    text(dto.getDate()),
+                    categories));
+        }
+
+        /**
+         * NULL becomes an empty field, which the importer reads back as NULL.
+         */
+        private static String text(Object value) {
+            return value == null ? null : value.toString();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductImportChunkDTO;
+import com.devsuperior.dscatalog.dto.ProductImportSummaryDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a bulk product feed and writes it in chunks, each chunk in its own
+ * transaction through {@link ProductService#insertAll(List, Map)}. Only the
+ * current chunk is kept in memory.
+ */
+@Service
+public class ProductImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String CATEGORY_SEPARATOR = "|";
+
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${dscatalog.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public ProductImportSummaryDTO importJson(InputStream body) throws IOException {
+        ImportRun run = new ImportRun();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return run.abort("Expected a JSON array of products");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    return run.stop("Unterminated JSON array after row " + run.rows);
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    run.reject("expected a product object");
+                    continue;
+                }
+                JsonNode row = objectMapper.readTree(parser);
+                try {
+                    run.accept(objectMapper.treeToValue(row, ProductDTO.class));
+                }
+                catch (JsonMappingException e) {
+                    run.reject(describe(e));
+                }
+            }
+        }
+        catch (JacksonException e) {
+            return run.stop("Malformed JSON after row " + run.rows + ": " + e.getOriginalMessage());
+        }
+        catch (DataAccessException e) {
+            return run.abort("Chunk " + (run.summary.getChunks().size() + 1) + " could not be written");
+        }
+        return run.finish();
+    }
+
+    public ProductImportSummaryDTO importCsv(InputStream body, Charset charset) throws IOException {
+        ImportRun run = new ImportRun();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(body, charset))) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                return run.finish();
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("price")) {
+                return run.abort("CSV header must contain name and price columns");
+            }
+
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                try {
+                    run.accept(fromCsv(record, columns));
+                }
+                catch (IllegalArgumentException | DateTimeParseException e) {
+                    run.reject(e.getMessage());
+                }
+            }
+        }
+        catch (CsvReader.MalformedCsvException e) {
+            return run.stop("Malformed CSV after row " + run.rows + ": " + e.getMessage());
+        }
+        catch (DataAccessException e) {
+            return run.abort("Chunk " + (run.summary.getChunks().size() + 1) + " could not be written");
+        }
+        return run.finish();
+    }
+
+    private String describe(JsonMappingException e) {
+        String field = e.getPath().stream()
+                .map(x -> x.getFieldName() != null ? x.getFieldName() : String.valueOf(x.getIndex()))
+                .collect(Collectors.joining("."));
+        return field.isEmpty() ? e.getOriginalMessage() : field + " has an invalid value";
+    }
+
+    private ProductDTO fromCsv(List<String> record, Map<String, Integer> columns) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(column(record, columns, "name"));
+        dto.setDescription(column(record, columns, "description"));
+        String price = column(record, columns, "price");
+        dto.setPrice(price == null ? null : Double.valueOf(price));
+        dto.setImgUrl(column(record, columns, "imgurl"));
+        String date = column(record, columns, "date");
+        dto.setDate(date == null ? null : Instant.parse(date));
+        String categories = column(record, columns, "categories");
+        if (categories != null) {
+            for (String id : categories.split("\\" + CATEGORY_SEPARATOR)) {
+                dto.getCategories().add(new CategoryDTO(Long.valueOf(id.trim()), null));
+            }
+        }
+        return dto;
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isBlank()) {
+            return null;
+        }
+        return record.get(index).trim();
+    }
+
+    private class ImportRun {
+
+        private final Map<Long, Category> categories = new HashMap<>();
+        private final ProductImportSummaryDTO summary = new ProductImportSummaryDTO();
+        private final List<ProductDTO> chunk = new ArrayList<>();
+        private final long start = System.nanoTime();
+
+        private long rows;
+        private long chunkRejected;
+        private long chunkStart = start;
+
+        ImportRun() {
+            categoryRepository.findAll().forEach(x -> categories.put(x.getId(), x));
+        }
+
+        void accept(ProductDTO dto) {
+            String problem = validate(dto);
+            if (problem != null) {
+                reject(problem);
+                return;
+            }
+            rows++;
+            chunk.add(dto);
+            flushIfFull();
+        }
+
+        void reject(String message) {
+            rows++;
+            chunkRejected++;
+            if (summary.getRejections().size() < MAX_REPORTED_REJECTIONS) {
+                summary.getRejections().add("Row " + rows + ": " + message);
+            }
+            flushIfFull();
+        }
+
+        ProductImportSummaryDTO abort(String error) {
+            summary.setError(error);
+            summary.finish(elapsedMillis(start));
+            return summary;
+        }
+
+        /**
+         * Aborts on input that cannot be read any further; rows accepted so
+         * far are still written and reported.
+         */
+        ProductImportSummaryDTO stop(String error) {
+            flush();
+            return abort(error);
+        }
+
+        ProductImportSummaryDTO finish() {
+            flush();
+            summary.finish(elapsedMillis(start));
+            return summary;
+        }
+
+        private String validate(ProductDTO dto) {
+            if (dto.getName() == null || dto.getName().isBlank()) {
+                return "name is required";
+            }
+            if (dto.getPrice() == null || dto.getPrice() < 0) {
+                return "price must be zero or positive";
+            }
+            for (CategoryDTO cat : dto.getCategories()) {
+                if (cat.getId() == null || !categories.containsKey(cat.getId())) {
+                    return "category " + cat.getId() + " does not exist";
+                }
+            }
+            return null;
+        }
+
+        private void flushIfFull() {
+            if (chunk.size() + chunkRejected >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty() && chunkRejected == 0) {
+                return;
+            }
+            if (!chunk.isEmpty()) {
+                productService.insertAll(chunk, categories);
+            }
+            summary.addChunk(new ProductImportChunkDTO(summary.getChunks().size() + 1,
+                    (long) chunk.size(), chunkRejected, elapsedMillis(chunkStart)));
+            chunk.clear();
+            chunkRejected = 0;
+            chunkStart = System.nanoTime();
+        }
+
+        private long elapsedMillis(long since) {
+            return (System.nanoTime() - since) / 1_000_000;
+        }
+    }
+}
@@ -1,41 +1,272 @@
 package com.devsuperior.dscatalog.services;
 
 
+import com.devsuperior.dscatalog.coalescing.SingleFlight;
+import com.devsuperior.dscatalog.config.CacheConfig;
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.dto.FacetedPage;
+import com.devsuperior.dscatalog.dto.PriceFacetDTO;
+import com.devsuperior.dscatalog.dto.ProductBatchDTO;
+import com.devsuperior.dscatalog.dto.ProductBulkDeleteSummaryDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.dto.SuggestionDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.projections.ProductCategoryProjection;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.search.FacetCounts;
+import com.devsuperior.dscatalog.services.search.ProductFacetIndex;
+import com.devsuperior.dscatalog.services.search.ProductSearchIndex;
+import com.devsuperior.dscatalog.services.search.SearchHits;
+import com.devsuperior.dscatalog.services.search.SuggestionIndex;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Tuple;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ProductService {
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "name", "price");
+
+    /**
+     * Fields a client may select with {@code fields=}, in the order they are
+     * rendered. {@code id} is always included.
+     */
+    public static final List<String> SPARSE_FIELDS =
+            List.of("id", "name", "description", "price", "imgUrl", "date", "categories");
+
     @Autowired
     public ProductRepository repository;
 
+    @Value("${dscatalog.count-cache.enabled:true}")
+    private boolean countCacheEnabled;
+
+    @Value("${dscatalog.count-cache.max-age:60s}")
+    private Duration countCacheMaxAge;
+
+    @Value("${dscatalog.batch.max-ids:500}")
+    private int batchMaxIds;
+
+    @Value("${dscatalog.batch.chunk-size:100}")
+    private int batchChunkSize;
+
+    private final ApproximateCount approximateCount = new ApproximateCount(() -> repository.count());
+
     @Autowired
     public CategoryRepository categoryRepository;
 
+    @Autowired
+    public ProductSearchIndex searchIndex;
+
+    @Autowired
+    public SuggestionIndex suggestionIndex;
+
+    @Autowired
+    public ProductFacetIndex facetIndex;
+
+    @Autowired
+    public ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public CacheManager cacheManager;
+
+    @SingleFlight
     @Transactional(readOnly = true)
     public Page<ProductDTO> findAllPaged(Pageable pageable) {
-        Page<Product> list = repository.findAll(pageable);
-        return list.map(x -> new ProductDTO(x));
+        Page<Long> page = repository.findProductIds(pageable);
+        Map<Long, Product> productsById = findProductsWithCategories(page.getContent());
+        return page.map(id -> {
+            Product entity = productsById.get(id);
+            return new ProductDTO(entity, entity.getCategories());
+        });
+    }
+
+    /**
+     * Sparse listing: selects only the requested columns as tuples, plus one
+     * projection query for category names when {@code categories} is asked
+     * for, so no entity is hydrated or tracked by the persistence context.
+     */
+    @SingleFlight
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAllPaged(Pageable pageable, Set<String> fields) {
+        for (String field : fields) {
+            if (!SPARSE_FIELDS.contains(field)) {
+                throw new BadRequestException("Unknown field " + field);
+            }
+        }
+        List<String> columns = SPARSE_FIELDS.stream()
+                .filter(x -> !"categories".equals(x) && (x.equals("id") || fields.contains(x)))
+                .toList();
+
+        Page<Long> page = repository.findProductIds(pageable);
+        Map<Long, Map<String, Object>> rowsById = new HashMap<>();
+        for (Tuple tuple : repository.findFieldsByIdIn(page.getContent(), columns)) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            columns.forEach(column -> row.put(column, tuple.get(column)));
+            rowsById.put(tuple.get("id", Long.class), row);
+        }
+        if (fields.contains("categories")) {
+            Map<Long, List<CategoryDTO>> categoriesById = new HashMap<>();
+            for (ProductCategoryProjection x : repository.findCategoriesOfProducts(page.getContent())) {
+                categoriesById.computeIfAbsent(x.getProductId(), id -> new ArrayList<>())
+                        .add(new CategoryDTO(x.getCategoryId(), x.getCategoryName()));
+            }
+            rowsById.forEach((id, row) -> row.put("categories", categoriesById.getOrDefault(id, List.of())));
+        }
+        return page.map(rowsById::get);
+    }
+
+    @Transactional(readOnly = true)
+    public FacetedPage<ProductDTO> findAllFiltered(ProductFilterDTO filter, Pageable pageable) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new BadRequestException("minPrice must not be greater than maxPrice");
+        }
+        if (filter.getMinDate() != null && filter.getMaxDate() != null && filter.getMinDate().isAfter(filter.getMaxDate())) {
+            throw new BadRequestException("minDate must not be after maxDate");
+        }
+        FacetCounts facets = facetIndex.count(filter);
+        List<Long> ids = filter.getCategoryId().isEmpty()
+                ? repository.findFilteredIds(filter.getMinPrice(), filter.getMaxPrice(),
+                        filter.getMinDate(), filter.getMaxDate(), pageable)
+                : repository.findFilteredIdsInCategories(filter.getCategoryId(), filter.getMinPrice(),
+                        filter.getMaxPrice(), filter.getMinDate(), filter.getMaxDate(), pageable);
+
+        Map<Long, Product> productsById = findProductsWithCategories(ids);
+        List<ProductDTO> content = new ArrayList<>();
+        for (Long id : ids) {
+            Product entity = productsById.get(id);
+            content.add(new ProductDTO(entity, entity.getCategories()));
+        }
+
+        List<CategoryFacetDTO> categoryFacets = new ArrayList<>();
+        facets.getCategories().forEach((id, count) -> categoryFacets.add(new CategoryFacetDTO(id, count)));
+        List<PriceFacetDTO> priceFacets = new ArrayList<>();
+        for (int i = 0; i < facets.getBucketCount(); i++) {
+            priceFacets.add(new PriceFacetDTO(facets.getBucketMin(i), facets.getBucketMax(i), facets.getBucket(i)));
+        }
+        return new FacetedPage<>(content, pageable, facets.getTotal(), categoryFacets, priceFacets);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ProductDTO> findAllSliced(Pageable pageable) {
+        Slice<Long> slice = repository.findProductIdsSlice(pageable);
+        Map<Long, Product> productsById = findProductsWithCategories(slice.getContent());
+        return slice.map(id -> {
+            Product entity = productsById.get(id);
+            return new ProductDTO(entity, entity.getCategories());
+        });
+    }
+
+    public Optional<Long> findApproximateCount() {
+        return countCacheEnabled ? approximateCount.get() : Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${dscatalog.count-cache.refresh-interval:5000}")
+    public void refreshApproximateCount() {
+        if (countCacheEnabled) {
+            approximateCount.refresh(countCacheMaxAge);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductDTO> findAllByCursor(String after, String sort, int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        KeysetCursor cursor = after.isEmpty()
+                ? KeysetCursor.start(sort, KEYSET_PROPERTIES)
+                : KeysetCursor.decode(after, KEYSET_PROPERTIES);
+
+        List<Long> ids = seekProductIds(cursor, cursor.lookAhead(size));
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+
+        Map<Long, Product> productsById = findProductsWithCategories(ids);
+        List<ProductDTO> content = new ArrayList<>();
+        for (Long id : ids) {
+            Product entity = productsById.get(id);
+            content.add(new ProductDTO(entity, entity.getCategories()));
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            ProductDTO last = content.get(content.size() - 1);
+            Object value = switch (cursor.getProperty()) {
+                case "name" -> last.getName();
+                case "price" -> last.getPrice();
+                default -> null;
+            };
+            nextCursor = cursor.next(last.getId(), value).encode();
+        }
+        return new CursorPageDTO<>(content, size, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> search(String query, Pageable pageable) {
+        if (pageable.getOffset() > Integer.MAX_VALUE - pageable.getPageSize()) {
+            throw new BadRequestException("Page " + pageable.getPageNumber() + " is out of range");
+        }
+        SearchHits hits = searchIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits.getIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotal());
+        }
+        Map<Long, Product> productsById = findProductsWithCategories(hits.getIds());
+        List<ProductDTO> content = new ArrayList<>();
+        for (Long id : hits.getIds()) {
+            Product entity = productsById.get(id);
+            if (entity != null) {
+                content.add(new ProductDTO(entity, entity.getCategories()));
+            }
+        }
+        return new PageImpl<>(content, pageable, hits.getTotal());
     }
 
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive");
+        }
+        return suggestionIndex.suggestProducts(prefix, Math.min(limit, suggestionIndex.getTopK())).stream()
+                .map(x -> new SuggestionDTO(x.id(), x.name()))
+                .toList();
+    }
+
+    @SingleFlight
+    @Cacheable(value = CacheConfig.PRODUCTS, key = "#id")
     @Transactional(readOnly = true)
     public ProductDTO findById(Long id) {
         Optional<Product> obj = repository.findById(id);
@@ -44,15 +275,87 @@ public class ProductService {
         return new ProductDTO(entity, entity.getCategories());
     }
 
+    /**
+     * Multi-get for carts and wishlists: products are loaded with their
+     * categories in {@code IN} chunks of {@code dscatalog.batch.chunk-size},
+     * returned in request order (duplicates collapsed), and ids that do not
+     * exist are listed in {@code missingIds} instead of failing the call.
+     * Each category is turned into a {@link CategoryDTO} once per batch and
+     * shared by every product that references it.
+     */
+    @Transactional(readOnly = true)
+    public ProductBatchDTO findAllByIds(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > batchMaxIds) {
+            throw new BadRequestException("At most " + batchMaxIds + " ids can be requested at once");
+        }
+        Map<Long, Product> productsById = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += batchChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + batchChunkSize, distinctIds.size()));
+            productsById.putAll(findProductsWithCategories(chunk));
+        }
+
+        Map<Long, CategoryDTO> categoryDtos = new HashMap<>();
+        List<ProductDTO> content = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Product entity = productsById.get(id);
+            if (entity == null) {
+                missingIds.add(id);
+                continue;
+            }
+            ProductDTO dto = new ProductDTO(entity);
+            entity.getCategories().forEach(cat ->
+                    dto.getCategories().add(categoryDtos.computeIfAbsent(cat.getId(), x -> new CategoryDTO(cat))));
+            content.add(dto);
+        }
+        return new ProductBatchDTO(content, missingIds);
+    }
+
+    /**
+     * Current validator of a product, read without loading the product or its
+     * categories; matches {@code ResourceVersion.of(findById(id))}.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersion(Long id) {
+        return repository.findVersionById(id)
+                .map(ResourceVersion::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+    }
+
+    @CacheEvict(value = CacheConfig.PRODUCTS, key = "#result.id")
     @Transactional
     public ProductDTO insert(ProductDTO dto) {
       Product entity = new Product();
       //entity.setName(dto.getName());
       copyDtoToEntity(dto, entity);
       entity = repository.save(entity);
+      approximateCount.invalidate();
+      eventPublisher.publishEvent(ProductChangedEvent.saved(entity));
       return new ProductDTO(entity);
     }
 
+    @Transactional
+    public List<ProductDTO> insertAll(List<ProductDTO> dtos) {
+        return insertAll(dtos, new HashMap<>());
+    }
+
+    @Transactional
+    public List<ProductDTO> insertAll(List<ProductDTO> dtos, Map<Long, Category> categories) {
+        List<Product> entities = new ArrayList<>();
+        for (ProductDTO dto : dtos) {
+            Product entity = new Product();
+            copyDtoToEntity(dto, entity, categories);
+            entities.add(entity);
+        }
+        entities = repository.saveAll(entities);
+        repository.flush();
+        approximateCount.invalidate();
+        entities.forEach(x -> eventPublisher.publishEvent(ProductChangedEvent.saved(x)));
+        return entities.stream().map(x -> new ProductDTO(x)).toList();
+    }
+
+    @CacheEvict(value = CacheConfig.PRODUCTS, key = "#id")
     @Transactional
     public ProductDTO update(Long id, ProductDTO dto) {
         try {
@@ -60,6 +363,7 @@ public class ProductService {
             //entity.setName(dto.getName());
             copyDtoToEntity(dto, entity);
             entity = repository.save(entity);
+            eventPublisher.publishEvent(ProductChangedEvent.saved(entity));
             return new ProductDTO(entity);
         }
         catch (EntityNotFoundException e) {
@@ -67,27 +371,142 @@ public class ProductService {
         }
     }
 
+    @CacheEvict(value = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional
     public void delete(Long id) {
         try {
-            if (repository.existsById(id)) {repository.deleteById(id);}
-            else {throw new ResourceNotFoundException("Id not found " + id);}
+            if (repository.removeById(id) == 0) {
+                throw new ResourceNotFoundException("Id not found " + id);
+            }
+            approximateCount.invalidate();
+            eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
+        } catch (DataIntegrityViolationException e) {
+            throw new DatabaseException("Integrity violation");
+        }
+    }
+
+    /**
+     * Deletes up to {@code dscatalog.batch.max-ids} products with one
+     * {@code DELETE ... WHERE id IN} per chunk; ids that do not exist are
+     * ignored and only show up as the difference between requested and
+     * deleted.
+     */
+    @Transactional
+    public ProductBulkDeleteSummaryDTO deleteAll(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > batchMaxIds) {
+            throw new BadRequestException("At most " + batchMaxIds + " ids can be deleted at once");
+        }
+        long deleted = 0;
+        try {
+            for (int from = 0; from < distinctIds.size(); from += batchChunkSize) {
+                deleted += repository.removeByIdIn(
+                        distinctIds.subList(from, Math.min(from + batchChunkSize, distinctIds.size())));
+            }
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Integrity violation");
         }
+        if (deleted > 0) {
+            Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+            approximateCount.invalidate();
+            for (Long id : distinctIds) {
+                cache.evict(id);
+                eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
+            }
+        }
+        return new ProductBulkDeleteSummaryDTO((long) distinctIds.size(), deleted);
+    }
+
+
+    private List<Long> seekProductIds(KeysetCursor cursor, Pageable pageable) {
+        boolean ascending = cursor.isAscending();
+        if (!cursor.hasPosition()) {
+            return switch (cursor.getProperty()) {
+                case "name" -> ascending
+                        ? repository.findFirstIdsByNameAsc(pageable)
+                        : repository.findFirstIdsByNameDesc(pageable);
+                case "price" -> ascending
+                        ? repository.findFirstIdsByPriceAsc(pageable)
+                        : repository.findFirstIdsByPriceDesc(pageable);
+                default -> repository.findFirstPageIds(pageable);
+            };
+        }
+        return switch (cursor.getProperty()) {
+            case "name" -> {
+                String name = cursor.getValue();
+                if (name == null) {
+                    yield ascending
+                            ? repository.findIdsAfterNullName(cursor.getId(), pageable)
+                            : repository.findIdsBeforeNullName(cursor.getId(), pageable);
+                }
+                yield ascending
+                        ? repository.findIdsAfterName(name, cursor.getId(), pageable)
+                        : repository.findIdsBeforeName(name, cursor.getId(), pageable);
+            }
+            case "price" -> {
+                Double price = cursor.getValueAsDouble();
+                if (price == null) {
+                    yield ascending
+                            ? repository.findIdsAfterNullPrice(cursor.getId(), pageable)
+                            : repository.findIdsBeforeNullPrice(cursor.getId(), pageable);
+                }
+                yield ascending
+                        ? repository.findIdsAfterPrice(price, cursor.getId(), pageable)
+                        : repository.findIdsBeforePrice(price, cursor.getId(), pageable);
+            }
+            default -> ascending
+                    ? repository.findIdsAfterId(cursor.getId(), pageable)
+                    : repository.findIdsBeforeId(cursor.getId(), pageable);
+        };
     }
 
+    private Map<Long, Product> findProductsWithCategories(List<Long> ids) {
+        Map<Long, Product> productsById = new HashMap<>();
+        repository.findProductsWithCategories(ids).forEach(x -> productsById.put(x.getId(), x));
+        return productsById;
+    }
 
+    private void copyDtoToEntity(ProductDTO dto, Product entity, Map<Long, Category> categories) {
+        copyFieldsToEntity(dto, entity);
+        for (CategoryDTO catDto : dto.getCategories()) {
+            Category category = categories.computeIfAbsent(catDto.getId(), categoryRepository::getReferenceById);
+            entity.getCategories().add(category);
+        }
+    }
+
+    /**
+     * Applies the requested categories as a difference against the current
+     * ones, so Hibernate only deletes and inserts the join rows that changed.
+     * Added categories are loaded, and thereby validated, in one query.
+     */
     private void copyDtoToEntity(ProductDTO dto, Product entity) {
+        copyFieldsToEntity(dto, entity);
+
+        Set<Long> requested = new HashSet<>();
+        for (CategoryDTO catDto : dto.getCategories()) {
+            if (catDto.getId() == null) {
+                throw new BadRequestException("Category id is required");
+            }
+            requested.add(catDto.getId());
+        }
+        entity.getCategories().removeIf(x -> !requested.contains(x.getId()));
+        entity.getCategories().forEach(x -> requested.remove(x.getId()));
+        if (requested.isEmpty()) {
+            return;
+        }
+        List<Category> added = categoryRepository.findAllById(requested);
+        if (added.size() != requested.size()) {
+            added.forEach(x -> requested.remove(x.getId()));
+            throw new ResourceNotFoundException("Category not found " + requested);
+        }
+        entity.getCategories().addAll(added);
+    }
+
+    private void copyFieldsToEntity(ProductDTO dto, Product entity) {
         entity.setName(dto.getName());
         entity.setDescription(dto.getDescription());
         entity.setDate(dto.getDate());
         entity.setImgUrl(dto.getImgUrl());
         entity.setPrice(dto.getPrice());
-
-        entity.getCategories().clear();
-        for (CategoryDTO catDto : dto.getCategories()) {
-            Category category = categoryRepository.getReferenceById(catDto.getId());
-            entity.getCategories().add(category);
-        }
     }
 }
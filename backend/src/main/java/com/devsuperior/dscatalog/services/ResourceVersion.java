@@ -0,0 +1,93 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.projections.ProductVersionProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Validator of a representation: a strong entity tag and an optional
+ * modification time, used for conditional GETs.
+ * <p>
+ * A product's tag combines its own version with the sum of its categories'
+ * versions, since category names are part of its representation; versions
+ * only grow, so any change moves the sum. The same tag is computed from a
+ * loaded {@link ProductDTO} and from the {@link ProductVersionProjection} the
+ * repository reads without loading the product, which lets an unchanged
+ * product be answered with 304 from one narrow query.
+ */
+public final class ResourceVersion {
+
+    private final String eTag;
+    private final Instant lastModified;
+
+    private ResourceVersion(String eTag, Instant lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public static ResourceVersion of(ProductDTO dto) {
+        long categoryVersions = 0;
+        Instant lastModified = dto.getUpdatedAt();
+        for (CategoryDTO cat : dto.getCategories()) {
+            categoryVersions += cat.getVersion() == null ? 0 : cat.getVersion();
+            lastModified = latest(lastModified, cat.getUpdatedAt());
+        }
+        return new ResourceVersion(productTag(dto.getVersion(), categoryVersions), lastModified);
+    }
+
+    public static ResourceVersion of(ProductVersionProjection version) {
+        long categoryVersions = version.getCategoryVersions() == null ? 0 : version.getCategoryVersions();
+        return new ResourceVersion(productTag(version.getVersion(), categoryVersions),
+                latest(version.getUpdatedAt(), version.getCategoriesUpdatedAt()));
+    }
+
+    public static ResourceVersion of(CategoryDTO dto) {
+        return new ResourceVersion(String.valueOf(dto.getVersion()), dto.getUpdatedAt());
+    }
+
+    /**
+     * Tags a page by everything it shows: totals, position and the id and
+     * version of each element, in order.
+     */
+    public static ResourceVersion of(Page<CategoryDTO> page) {
+        StringBuilder state = new StringBuilder()
+                .append(page.getTotalElements()).append('|')
+                .append(page.getNumber()).append('|')
+                .append(page.getSize()).append('|');
+        Instant lastModified = null;
+        for (CategoryDTO cat : page.getContent()) {
+            state.append(cat.getId()).append(':').append(cat.getVersion()).append(';');
+            lastModified = latest(lastModified, cat.getUpdatedAt());
+        }
+        return new ResourceVersion(DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)),
+                lastModified);
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Modification time in epoch millis, or -1 when unknown, as expected by
+     * {@code WebRequest.checkNotModified} and {@code ResponseEntity.lastModified}.
+     */
+    public long getLastModified() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    private static String productTag(Long version, long categoryVersions) {
+        return (version == null ? 0 : version) + "-" + categoryVersions;
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
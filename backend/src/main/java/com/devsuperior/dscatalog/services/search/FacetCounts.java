@@ -0,0 +1,45 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.Map;
+
+public class FacetCounts {
+
+    private final long total;
+    private final Map<Long, Long> categories;
+    private final double[] bucketBounds;
+    private final long[] buckets;
+
+    public FacetCounts(long total, Map<Long, Long> categories, double[] bucketBounds, long[] buckets) {
+        this.total = total;
+        this.categories = categories;
+        this.bucketBounds = bucketBounds;
+        this.buckets = buckets;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<Long, Long> getCategories() {
+        return categories;
+    }
+
+    public int getBucketCount() {
+        return buckets.length;
+    }
+
+    public double getBucketMin(int bucket) {
+        return bucketBounds[bucket];
+    }
+
+    /**
+     * Upper bound (exclusive) of the bucket, or {@code null} for the last one.
+     */
+    public Double getBucketMax(int bucket) {
+        return bucket + 1 < bucketBounds.length ? bucketBounds[bucket + 1] : null;
+    }
+
+    public long getBucket(int bucket) {
+        return buckets[bucket];
+    }
+}
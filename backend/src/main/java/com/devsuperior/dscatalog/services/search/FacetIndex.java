@@ -0,0 +1,295 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * In-memory facet index: one {@link BitSet} of product ordinals per category
+ * and per price bucket, plus ordinals sorted by price and by date for range
+ * filters. Facet counts are in-place bitset intersections on pooled scratch
+ * sets, so they never touch {@code tb_product_category} and allocate nothing
+ * the size of the catalog. Each facet is counted against the other active
+ * filters only, so selecting a category still shows the counts of its siblings.
+ */
+public class FacetIndex {
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final double[] bucketBounds;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<Long, BitSet> categories = new HashMap<>();
+    private final BitSet[] priceBuckets;
+
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    private double[] prices = new double[1024];
+    private long[] dates = new long[1024];
+    private int size;
+
+    private boolean rangesSorted;
+    private int[] byPrice;
+    private double[] sortedPrices;
+    private int[] byDate;
+    private long[] sortedDates;
+
+    public FacetIndex(double[] bucketBounds) {
+        this.bucketBounds = bucketBounds.clone();
+        Arrays.sort(this.bucketBounds);
+        priceBuckets = new BitSet[this.bucketBounds.length];
+        for (int i = 0; i < priceBuckets.length; i++) {
+            priceBuckets[i] = new BitSet();
+        }
+    }
+
+    public void put(Long id, Double price, Instant date, Collection<Long> categoryIds) {
+        lock.writeLock().lock();
+        try {
+            clear(ordinals.get(id));
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                ordinal = freeOrdinals.isEmpty() ? size++ : freeOrdinals.pop();
+                ordinals.put(id, ordinal);
+            }
+            if (ordinal == prices.length) {
+                prices = Arrays.copyOf(prices, prices.length * 2);
+                dates = Arrays.copyOf(dates, dates.length * 2);
+            }
+            prices[ordinal] = price == null ? Double.NaN : price;
+            dates[ordinal] = date == null ? NO_DATE : date.toEpochMilli();
+            live.set(ordinal);
+            int bucket = bucketOf(price);
+            if (bucket >= 0) {
+                priceBuckets[bucket].set(ordinal);
+            }
+            for (Long categoryId : categoryIds) {
+                categories.computeIfAbsent(categoryId, x -> new BitSet()).set(ordinal);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                clear(ordinal);
+                freeOrdinals.push(ordinal);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public FacetCounts count(Collection<Long> categoryIds, Double minPrice, Double maxPrice,
+                             Instant minDate, Instant maxDate) {
+        boolean priceFiltered = minPrice != null || maxPrice != null;
+        boolean dateFiltered = minDate != null || maxDate != null;
+        lock.readLock().lock();
+        if ((priceFiltered || dateFiltered) && !rangesSorted) {
+            // Re-sort after writes; the read lock cannot be upgraded, so re-check under the write lock
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            try {
+                if (!rangesSorted) {
+                    sortRanges();
+                }
+                lock.readLock().lock();
+            }
+            finally {
+                lock.writeLock().unlock();
+            }
+        }
+        Scratch scratch = scratchPool.poll();
+        if (scratch == null) {
+            scratch = new Scratch();
+        }
+        try {
+            BitSet byCategory = live;
+            if (!categoryIds.isEmpty()) {
+                byCategory = scratch.category;
+                byCategory.clear();
+                for (Long categoryId : categoryIds) {
+                    BitSet bits = categories.get(categoryId);
+                    if (bits != null) {
+                        byCategory.or(bits);
+                    }
+                }
+            }
+            BitSet byPrice = priceFiltered ? priceRange(minPrice, maxPrice, scratch.price) : live;
+            BitSet byDate = dateFiltered ? dateRange(minDate, maxDate, scratch.date) : live;
+
+            BitSet otherThanCategory = intersect(byPrice, byDate, scratch.otherThanCategory);
+            BitSet otherThanPrice = intersect(byCategory, byDate, scratch.otherThanPrice);
+
+            Map<Long, Long> categoryCounts = new TreeMap<>();
+            for (Map.Entry<Long, BitSet> entry : categories.entrySet()) {
+                long count = intersectionCount(entry.getValue(), otherThanCategory, scratch.intersection);
+                if (count > 0) {
+                    categoryCounts.put(entry.getKey(), count);
+                }
+            }
+            long[] bucketCounts = new long[priceBuckets.length];
+            for (int i = 0; i < priceBuckets.length; i++) {
+                bucketCounts[i] = intersectionCount(priceBuckets[i], otherThanPrice, scratch.intersection);
+            }
+            long total = intersectionCount(byCategory, otherThanCategory, scratch.intersection);
+            return new FacetCounts(total, categoryCounts, bucketBounds, bucketCounts);
+        }
+        finally {
+            scratchPool.offer(scratch);
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear(Integer ordinal) {
+        rangesSorted = false;
+        if (ordinal == null) {
+            return;
+        }
+        live.clear(ordinal);
+        for (BitSet bucket : priceBuckets) {
+            bucket.clear(ordinal);
+        }
+        for (BitSet bits : categories.values()) {
+            bits.clear(ordinal);
+        }
+    }
+
+    private int bucketOf(Double price) {
+        if (price == null || bucketBounds.length == 0 || price < bucketBounds[0]) {
+            return -1;
+        }
+        int bucket = Arrays.binarySearch(bucketBounds, price);
+        return bucket >= 0 ? bucket : -bucket - 2;
+    }
+
+    /**
+     * Orders the priced and dated ordinals by value so range filters become
+     * two binary searches plus one bit per matching product.
+     */
+    private void sortRanges() {
+        byPrice = live.stream().filter(i -> !Double.isNaN(prices[i])).boxed()
+                .sorted(Comparator.comparingDouble(i -> prices[i]))
+                .mapToInt(Integer::intValue).toArray();
+        sortedPrices = new double[byPrice.length];
+        for (int i = 0; i < byPrice.length; i++) {
+            sortedPrices[i] = prices[byPrice[i]];
+        }
+        byDate = live.stream().filter(i -> dates[i] != NO_DATE).boxed()
+                .sorted(Comparator.comparingLong(i -> dates[i]))
+                .mapToInt(Integer::intValue).toArray();
+        sortedDates = new long[byDate.length];
+        for (int i = 0; i < byDate.length; i++) {
+            sortedDates[i] = dates[byDate[i]];
+        }
+        rangesSorted = true;
+    }
+
+    private BitSet priceRange(Double min, Double max, BitSet result) {
+        int from = min == null ? 0 : firstIndex(sortedPrices.length, i -> sortedPrices[i] >= min);
+        int to = max == null ? sortedPrices.length : firstIndex(sortedPrices.length, i -> sortedPrices[i] > max);
+        result.clear();
+        for (int i = from; i < to; i++) {
+            result.set(byPrice[i]);
+        }
+        return result;
+    }
+
+    private BitSet dateRange(Instant min, Instant max, BitSet result) {
+        int from = min == null ? 0 : firstIndex(sortedDates.length, i -> sortedDates[i] >= min.toEpochMilli());
+        int to = max == null ? sortedDates.length : firstIndex(sortedDates.length, i -> sortedDates[i] > max.toEpochMilli());
+        result.clear();
+        for (int i = from; i < to; i++) {
+            result.set(byDate[i]);
+        }
+        return result;
+    }
+
+    /**
+     * First index in {@code [0, length)} for which the monotonic
+     * {@code condition} holds, or {@code length} if it never does.
+     */
+    private static int firstIndex(int length, IntPredicate condition) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (condition.test(mid)) {
+                high = mid;
+            }
+            else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private BitSet intersect(BitSet a, BitSet b, BitSet result) {
+        if (a == live) {
+            return b;
+        }
+        if (b == live) {
+            return a;
+        }
+        result.clear();
+        result.or(a);
+        result.and(b);
+        return result;
+    }
+
+    /**
+     * Every indexed bitset is a subset of {@code live}, so an unfiltered
+     * count is just the cardinality.
+     */
+    private long intersectionCount(BitSet bits, BitSet filter, BitSet scratch) {
+        if (filter == live) {
+            return bits.cardinality();
+        }
+        scratch.clear();
+        scratch.or(bits);
+        scratch.and(filter);
+        return scratch.cardinality();
+    }
+
+    /**
+     * Per-request working sets, pooled so concurrent counts reuse their
+     * words instead of allocating bitsets the size of the catalog.
+     */
+    private static final class Scratch {
+        private final BitSet category = new BitSet();
+        private final BitSet price = new BitSet();
+        private final BitSet date = new BitSet();
+        private final BitSet otherThanCategory = new BitSet();
+        private final BitSet otherThanPrice = new BitSet();
+        private final BitSet intersection = new BitSet();
+    }
+}
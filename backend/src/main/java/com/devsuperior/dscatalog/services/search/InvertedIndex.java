@@ -0,0 +1,238 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name and description, ranked with BM25.
+ * <p>
+ * Every indexed document gets a fresh, ever increasing ordinal, so posting lists
+ * stay sorted by appending and a query intersects them by binary search starting
+ * from the shortest list. Updates and deletes only tombstone the old ordinal; the
+ * postings are compacted once a quarter of them are dead.
+ */
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int NAME_BOOST = 3;
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+
+    private long[] ids = new long[1024];
+    private int[] lengths = new int[1024];
+    private int size;
+    private int deleted;
+    private long totalLength;
+
+    public void put(Long id, String name, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        TextNormalizer.tokenize(name).forEach(token -> frequencies.merge(token, NAME_BOOST, Integer::sum));
+        TextNormalizer.tokenize(description).forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            tombstone(ordinals.get(id));
+            int ordinal = size++;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                lengths = Arrays.copyOf(lengths, lengths.length * 2);
+            }
+            ids[ordinal] = id;
+            lengths[ordinal] = length;
+            totalLength += length;
+            ordinals.put(id, ordinal);
+            frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, x -> new Postings()).add(ordinal, tf));
+            compactIfNeeded();
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            tombstone(ordinals.remove(id));
+            compactIfNeeded();
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the documents containing every query term, best match
+     * first, skipping {@code offset} hits, plus the total number of matches.
+     * {@code offset + limit} saturates at {@code Integer.MAX_VALUE}.
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextNormalizer.tokenize(query)));
+        if (terms.isEmpty() || limit < 1) {
+            return SearchHits.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return SearchHits.empty();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(x -> x.size));
+
+            int live = ordinals.size();
+            float averageLength = live == 0 ? 1f : (float) totalLength / live;
+            float[] idf = new float[lists.size()];
+            for (int i = 0; i < idf.length; i++) {
+                int df = lists.get(i).size;
+                idf[i] = (float) Math.log(1 + (live - df + 0.5) / (df + 0.5));
+            }
+
+            int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            Comparator<Hit> worstFirst = Comparator.<Hit>comparingDouble(x -> x.score)
+                    .thenComparing(Comparator.<Hit>comparingLong(x -> x.id).reversed());
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, Math.min(wanted, 1024)), worstFirst);
+            int[] cursors = new int[lists.size()];
+            long total = 0;
+
+            Postings first = lists.get(0);
+            candidates:
+            for (int i = 0; i < first.size; i++) {
+                int doc = first.docs[i];
+                if (lengths[doc] < 0) {
+                    continue;
+                }
+                float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                float score = bm25(idf[0], first.freqs[i], norm);
+                for (int j = 1; j < lists.size(); j++) {
+                    Postings list = lists.get(j);
+                    int pos = Arrays.binarySearch(list.docs, cursors[j], list.size, doc);
+                    if (pos < 0) {
+                        cursors[j] = -pos - 1;
+                        continue candidates;
+                    }
+                    cursors[j] = pos + 1;
+                    score += bm25(idf[j], list.freqs[pos], norm);
+                }
+                total++;
+                Hit hit = new Hit(ids[doc], score);
+                if (top.size() < wanted) {
+                    top.add(hit);
+                }
+                else if (worstFirst.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(worstFirst.reversed());
+            List<Long> page = ranked.stream().skip(offset).map(x -> x.id).toList();
+            return new SearchHits(page, total);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static float bm25(float idf, int tf, float norm) {
+        return idf * tf * (K1 + 1) / (tf + norm);
+    }
+
+    private void tombstone(Integer ordinal) {
+        if (ordinal != null && lengths[ordinal] >= 0) {
+            totalLength -= lengths[ordinal];
+            lengths[ordinal] = -1;
+            deleted++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deleted < MIN_DELETED_TO_COMPACT || deleted * 4 < size) {
+            return;
+        }
+        int[] remap = new int[size];
+        int next = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (lengths[ordinal] >= 0) {
+                ids[next] = ids[ordinal];
+                lengths[next] = lengths[ordinal];
+                remap[ordinal] = next++;
+            }
+            else {
+                remap[ordinal] = -1;
+            }
+        }
+        Iterator<Postings> it = postings.values().iterator();
+        while (it.hasNext()) {
+            Postings list = it.next();
+            list.remap(remap);
+            if (list.size == 0) {
+                it.remove();
+            }
+        }
+        ordinals.replaceAll((id, ordinal) -> remap[ordinal]);
+        size = next;
+        deleted = 0;
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                int capacity = size + (size >> 1);
+                docs = Arrays.copyOf(docs, capacity);
+                freqs = Arrays.copyOf(freqs, capacity);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    private record Hit(long id, float score) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.devsuperior.dscatalog.services.search;
+
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.projections.ProductFacetProjection;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link FacetIndex} of the catalog, built and maintained the same way
+ * as {@link ProductSearchIndex}.
+ */
+@Component
+public class ProductFacetIndex {
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dscatalog.facets.price-buckets:0,100,500,1000,5000}")
+    private double[] priceBuckets;
+
+    private final Object lock = new Object();
+    private volatile FacetIndex index = new FacetIndex(new double[0]);
+    private List<ProductChangedEvent> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            FacetIndex fresh = new FacetIndex(priceBuckets);
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.executeWithoutResult(status -> {
+                try (Stream<ProductFacetProjection> stream = repository.streamFacetRows()) {
+                    Iterator<ProductFacetProjection> it = stream.iterator();
+                    ProductFacetProjection current = null;
+                    List<Long> categoryIds = new ArrayList<>();
+                    while (it.hasNext()) {
+                        ProductFacetProjection row = it.next();
+                        if (current != null && !current.getId().equals(row.getId())) {
+                            fresh.put(current.getId(), current.getPrice(), current.getDate(), categoryIds);
+                            categoryIds = new ArrayList<>();
+                        }
+                        current = row;
+                        if (row.getCategoryId() != null) {
+                            categoryIds.add(row.getCategoryId());
+                        }
+                    }
+                    if (current != null) {
+                        fresh.put(current.getId(), current.getPrice(), current.getDate(), categoryIds);
+                    }
+                }
+            });
+            synchronized (lock) {
+                pending.forEach(event -> apply(fresh, event));
+                index = fresh;
+            }
+        }
+        finally {
+            synchronized (lock) {
+                pending = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(index, event);
+        }
+    }
+
+    public FacetCounts count(ProductFilterDTO filter) {
+        return index.count(filter.getCategoryId(), filter.getMinPrice(), filter.getMaxPrice(),
+                filter.getMinDate(), filter.getMaxDate());
+    }
+
+    private void apply(FacetIndex target, ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            target.remove(event.getId());
+        }
+        else {
+            target.put(event.getId(), event.getPrice(), event.getDate(), event.getCategoryIds());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.devsuperior.dscatalog.services.search;
+
+import com.devsuperior.dscatalog.projections.ProductTextProjection;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps an {@link InvertedIndex} of the catalog. It is built from
+ * {@code tb_product} once the application is ready and then follows committed
+ * {@link ProductChangedEvent}s. Changes committed while a rebuild is streaming
+ * are replayed on the new index before it is swapped in.
+ */
+@Component
+public class ProductSearchIndex {
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Object lock = new Object();
+    private volatile InvertedIndex index = new InvertedIndex();
+    private List<ProductChangedEvent> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            InvertedIndex fresh = new InvertedIndex();
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.executeWithoutResult(status -> {
+                try (Stream<ProductTextProjection> stream = repository.streamSearchableText()) {
+                    stream.forEach(x -> fresh.put(x.getId(), x.getName(), x.getDescription()));
+                }
+            });
+            synchronized (lock) {
+                pending.forEach(event -> apply(fresh, event));
+                index = fresh;
+            }
+        }
+        finally {
+            synchronized (lock) {
+                pending = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(index, event);
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void apply(InvertedIndex target, ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            target.remove(event.getId());
+        }
+        else {
+            target.put(event.getId(), event.getName(), event.getDescription());
+        }
+    }
+}
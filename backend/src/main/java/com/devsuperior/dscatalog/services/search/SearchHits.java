@@ -0,0 +1,26 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.List;
+
+public class SearchHits {
+
+    private final List<Long> ids;
+    private final long total;
+
+    public SearchHits(List<Long> ids, long total) {
+        this.ids = ids;
+        this.total = total;
+    }
+
+    public static SearchHits empty() {
+        return new SearchHits(List.of(), 0);
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
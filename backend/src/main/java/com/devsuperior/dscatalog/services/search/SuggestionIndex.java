@@ -0,0 +1,131 @@
+package com.devsuperior.dscatalog.services.search;
+
+import com.devsuperior.dscatalog.projections.ProductNameProjection;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Prefix suggestions for product and category names. Products are ranked by
+ * recency ({@code date}), categories by their product count at the last
+ * rebuild. Built like {@link ProductSearchIndex} and kept current from the
+ * committed change events, so lookups never reach the database.
+ */
+@Component
+public class SuggestionIndex {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dscatalog.suggest.top-k:10}")
+    private int topK;
+
+    private final Object lock = new Object();
+    private volatile SuggestionTrie products = new SuggestionTrie(1);
+    private volatile SuggestionTrie categories = new SuggestionTrie(1);
+    private List<Object> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            SuggestionTrie freshProducts = new SuggestionTrie(topK);
+            SuggestionTrie freshCategories = new SuggestionTrie(topK);
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.executeWithoutResult(status -> {
+                try (Stream<ProductNameProjection> stream = productRepository.streamNames()) {
+                    stream.forEach(x -> freshProducts.put(x.getId(), x.getName(), recency(x.getDate())));
+                }
+                categoryRepository.findPopularity()
+                        .forEach(x -> freshCategories.put(x.getId(), x.getName(), x.getProductCount()));
+            });
+            synchronized (lock) {
+                pending.forEach(event -> apply(freshProducts, freshCategories, event));
+                products = freshProducts;
+                categories = freshCategories;
+            }
+        }
+        finally {
+            synchronized (lock) {
+                pending = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        onChange(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        onChange(event);
+    }
+
+    public List<SuggestionTrie.Suggestion> suggestProducts(String prefix, int limit) {
+        return products.suggest(prefix, limit);
+    }
+
+    public List<SuggestionTrie.Suggestion> suggestCategories(String prefix, int limit) {
+        return categories.suggest(prefix, limit);
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    private void onChange(Object event) {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(products, categories, event);
+        }
+    }
+
+    private void apply(SuggestionTrie productTrie, SuggestionTrie categoryTrie, Object event) {
+        if (event instanceof ProductChangedEvent product) {
+            if (product.isDeleted()) {
+                productTrie.remove(product.getId());
+            }
+            else {
+                productTrie.put(product.getId(), product.getName(), recency(product.getDate()));
+            }
+        }
+        else if (event instanceof CategoryChangedEvent category) {
+            if (category.isDeleted()) {
+                categoryTrie.remove(category.getId());
+            }
+            else {
+                categoryTrie.put(category.getId(), category.getName(), categoryTrie.scoreOf(category.getId()));
+            }
+        }
+    }
+
+    private static long recency(Instant date) {
+        return date == null ? 0 : date.toEpochMilli();
+    }
+}
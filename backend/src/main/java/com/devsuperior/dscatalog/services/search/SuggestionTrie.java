@@ -0,0 +1,307 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie answering prefix queries over names. Every node keeps the best
+ * {@code k} entries of its subtree by score, so a lookup is a walk down the
+ * prefix and a copy of one small array. Names are normalized with
+ * {@link TextNormalizer} and indexed from every word start, so "gam" finds
+ * "PC Gamer".
+ */
+public class SuggestionTrie {
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final int k;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    public SuggestionTrie(int k) {
+        this.k = k;
+    }
+
+    public void put(Long id, String name, long score) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                keys(previous.name).forEach(key -> remove(key, previous));
+            }
+            if (name == null || name.isBlank()) {
+                return;
+            }
+            Entry entry = new Entry(id, name, score);
+            entries.put(id, entry);
+            keys(name).forEach(key -> add(key, entry));
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                keys(previous.name).forEach(key -> remove(key, previous));
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long scoreOf(Long id) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            return entry == null ? 0 : entry.score;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = TextNormalizer.normalize(prefix).strip();
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int depth = 0;
+            while (depth < key.length()) {
+                Node child = node.child(key.charAt(depth));
+                if (child == null) {
+                    return List.of();
+                }
+                int matched = commonPrefix(child.label, key, depth);
+                if (depth + matched < key.length() && matched < child.label.length()) {
+                    return List.of();
+                }
+                depth += matched;
+                node = child;
+            }
+            List<Suggestion> result = new ArrayList<>();
+            for (Entry entry : node.top) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(new Suggestion(entry.id, entry.name));
+            }
+            return result;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> keys(String name) {
+        List<String> tokens = TextNormalizer.tokenize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return keys;
+    }
+
+    private void add(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int depth = 0;
+        while (depth < key.length()) {
+            char c = key.charAt(depth);
+            Node child = node.child(c);
+            if (child == null) {
+                child = new Node(key.substring(depth));
+                node.addChild(child);
+                depth = key.length();
+            }
+            else {
+                int matched = commonPrefix(child.label, key, depth);
+                if (matched < child.label.length()) {
+                    child = split(node, child, matched);
+                }
+                depth += matched;
+            }
+            node = child;
+            path.add(node);
+        }
+        node.terminals = append(node.terminals, entry);
+        for (Node visited : path) {
+            visited.offer(entry, k);
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int depth = 0;
+        while (depth < key.length()) {
+            node = node.child(key.charAt(depth));
+            if (node == null) {
+                return;
+            }
+            depth += node.label.length();
+            path.add(node);
+        }
+        node.terminals = without(node.terminals, entry);
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node visited = path.get(i);
+            if (i > 0 && visited.terminals.length == 0 && visited.children.length == 0) {
+                path.get(i - 1).removeChild(visited);
+            }
+            else if (visited.contains(entry)) {
+                visited.recompute(k);
+            }
+        }
+    }
+
+    private Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        parent.removeChild(child);
+        child.label = child.label.substring(at);
+        middle.addChild(child);
+        middle.top = child.top;
+        parent.addChild(middle);
+        return middle;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Entry[] append(Entry[] array, Entry entry) {
+        Entry[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = entry;
+        return copy;
+    }
+
+    private static Entry[] without(Entry[] array, Entry entry) {
+        return Arrays.stream(array).filter(x -> x != entry).toArray(Entry[]::new);
+    }
+
+    public record Suggestion(Long id, String name) {
+    }
+
+    private record Entry(Long id, String name, long score) {
+
+        boolean ranksBefore(Entry other) {
+            if (score != other.score) {
+                return score > other.score;
+            }
+            return name.compareTo(other.name) < 0;
+        }
+    }
+
+    private static final class Node {
+
+        private String label;
+        private Node[] children = new Node[0];
+        private Entry[] terminals = NO_ENTRIES;
+        private Entry[] top = NO_ENTRIES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char first = children[mid].label.charAt(0);
+                if (first < c) {
+                    low = mid + 1;
+                }
+                else if (first > c) {
+                    high = mid - 1;
+                }
+                else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            int i = 0;
+            while (i < children.length && children[i].label.charAt(0) < child.label.charAt(0)) {
+                i++;
+            }
+            Node[] copy = new Node[children.length + 1];
+            System.arraycopy(children, 0, copy, 0, i);
+            copy[i] = child;
+            System.arraycopy(children, i, copy, i + 1, children.length - i);
+            children = copy;
+        }
+
+        void removeChild(Node child) {
+            children = Arrays.stream(children).filter(x -> x != child).toArray(Node[]::new);
+        }
+
+        boolean contains(Entry entry) {
+            for (Entry candidate : top) {
+                if (candidate.id.equals(entry.id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void offer(Entry entry, int k) {
+            if (contains(entry)) {
+                return;
+            }
+            if (top.length == k && !entry.ranksBefore(top[k - 1])) {
+                return;
+            }
+            int i = 0;
+            while (i < top.length && top[i].ranksBefore(entry)) {
+                i++;
+            }
+            Entry[] copy = new Entry[Math.min(top.length + 1, k)];
+            System.arraycopy(top, 0, copy, 0, i);
+            copy[i] = entry;
+            System.arraycopy(top, i, copy, i + 1, copy.length - i - 1);
+            top = copy;
+        }
+
+        void recompute(int k) {
+            top = NO_ENTRIES;
+            for (Entry entry : terminals) {
+                offer(entry, k);
+            }
+            for (Node child : children) {
+                for (Entry entry : child.top) {
+                    offer(entry, k);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.devsuperior.dscatalog.synthetic;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Bulk-loads a synthetic catalog through batched JDBC, one transaction per
+ * batch. Output depends only on the seed and the requested sizes: names come
+ * from fixed vocabularies, category membership is Zipfian, prices are
+ * log-normal and dates lean towards the reference date. New rows take ids
+ * after the current maximum and the sequences are moved past them, so the
+ * generator can run on an empty or an already seeded database.
+ */
+public class SyntheticCatalogGenerator {
+
+    private static final String[] BRANDS = {"Acme", "Nordic", "Vertex", "Orion", "Lumen", "Atlas", "Nimbus",
+            "Quantum", "Zenith", "Polar", "Apex", "Helix", "Sierra", "Titan", "Nova", "Vega"};
+    private static final String[] ADJECTIVES = {"Gamer", "Pro", "Ultra", "Smart", "Classic", "Mini", "Max",
+            "Plus", "Wireless", "Portable", "Compact", "Premium", "Eco", "Turbo", "Slim", "Rugged"};
+    private static final String[] KINDS = {"PC", "Notebook", "Monitor", "Phone", "Tablet", "TV", "Keyboard",
+            "Mouse", "Headset", "Speaker", "Camera", "Router", "Printer", "Watch", "Console", "Book"};
+    private static final String[] CATEGORY_NAMES = {"Computadores", "Eletrônicos", "Livros", "Games",
+            "Celulares", "Áudio", "Fotografia", "Escritório", "Casa", "Acessórios", "Redes", "Wearables"};
+    private static final String[] DESCRIPTION_WORDS = {"fast", "reliable", "quiet", "durable", "lightweight",
+            "powerful", "battery", "screen", "storage", "memory", "design", "performance", "warranty", "wireless",
+            "display", "sound", "camera", "processor", "graphics", "keyboard", "ideal", "for", "work", "gaming",
+            "students", "travel", "home", "office", "with", "and", "the", "a", "high", "quality", "new"};
+    private static final String PASSWORD_HASH = "$2a$10$eACCYoNOHEqXve8aIWT8Nu3PkMXWBaOxJ9aORUYzfMQCbVBIhZ8tG";
+    private static final Duration DATE_SPREAD = Duration.ofDays(5 * 365);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long seed;
+    private final int batchSize;
+    private final Instant referenceDate;
+
+    public SyntheticCatalogGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     long seed, int batchSize, Instant referenceDate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.referenceDate = referenceDate;
+    }
+
+    public SyntheticCatalogReport generate(int categories, int products, int users) {
+        long start = System.nanoTime();
+        Random random = new Random(seed);
+
+        long firstCategoryId = nextId("tb_category");
+        List<Object[]> categoryRows = new ArrayList<>();
+        for (int i = 0; i < categories; i++) {
+            String name = CATEGORY_NAMES[i % CATEGORY_NAMES.length]
+                    + (i < CATEGORY_NAMES.length ? "" : " " + (i / CATEGORY_NAMES.length + 1));
+            categoryRows.add(new Object[] {firstCategoryId + i, name, Timestamp.from(referenceDate)});
+        }
+        insert("INSERT INTO tb_category (id, name, created_at) VALUES (?, ?, ?)", categoryRows);
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM tb_category ORDER BY id", Long.class);
+
+        long firstProductId = nextId("tb_product");
+        long memberships = products > 0 ? generateProducts(random, firstProductId, products, categoryIds) : 0;
+
+        long firstUserId = nextId("tb_user");
+        if (users > 0) {
+            generateUsers(random, firstUserId, users);
+        }
+
+        restartSequence("tb_category");
+        restartSequence("tb_product");
+        restartSequence("tb_user");
+        return new SyntheticCatalogReport(firstProductId, products, memberships, categories, users,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private long generateProducts(Random random, long firstId, int products, List<Long> categoryIds) {
+        ZipfSampler categorySampler = new ZipfSampler(categoryIds.size(), 1.1);
+        ZipfSampler wordSampler = new ZipfSampler(DESCRIPTION_WORDS.length, 1.0);
+        List<Object[]> productRows = new ArrayList<>(batchSize);
+        List<Object[]> membershipRows = new ArrayList<>(batchSize * 2);
+        long memberships = 0;
+
+        for (int i = 0; i < products; i++) {
+            long id = firstId + i;
+            String name = BRANDS[random.nextInt(BRANDS.length)] + " " + KINDS[random.nextInt(KINDS.length)] + " "
+                    + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + (100 + random.nextInt(9_900));
+            double price = Math.round(Math.exp(5.0 + random.nextGaussian()) * 100) / 100.0 + 0.99;
+            long ageSeconds = (long) (-Math.log(1 - random.nextDouble()) * DATE_SPREAD.getSeconds() / 4);
+            Timestamp date = Timestamp.from(referenceDate.minusSeconds(Math.min(ageSeconds, DATE_SPREAD.getSeconds())));
+            productRows.add(new Object[] {id, name, description(random, wordSampler), price,
+                    "https://img.example.com/products/" + id + ".jpg", date});
+
+            Set<Long> productCategories = new LinkedHashSet<>();
+            int count = 1 + (random.nextDouble() < 0.3 ? 1 : 0) + (random.nextDouble() < 0.1 ? 1 : 0);
+            for (int c = 0; c < count; c++) {
+                productCategories.add(categoryIds.get(categorySampler.sample(random)));
+            }
+            productCategories.forEach(categoryId -> membershipRows.add(new Object[] {id, categoryId}));
+
+            if (productRows.size() == batchSize || i == products - 1) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate("INSERT INTO tb_product (id, name, description, price, img_url, date) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)", productRows);
+                    jdbcTemplate.batchUpdate("INSERT INTO tb_product_category (product_id, category_id) "
+                            + "VALUES (?, ?)", membershipRows);
+                });
+                memberships += membershipRows.size();
+                productRows.clear();
+                membershipRows.clear();
+            }
+        }
+        return memberships;
+    }
+
+    private void generateUsers(Random random, long firstId, int users) {
+        List<Long> roleIds = jdbcTemplate.queryForList("SELECT id FROM tb_role ORDER BY id", Long.class);
+        List<Object[]> userRows = new ArrayList<>(batchSize);
+        List<Object[]> roleRows = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < users; i++) {
+            long id = firstId + i;
+            String firstName = BRANDS[random.nextInt(BRANDS.length)];
+            String lastName = KINDS[random.nextInt(KINDS.length)];
+            userRows.add(new Object[] {id, firstName, lastName, "user" + id + "@example.com", PASSWORD_HASH});
+            if (!roleIds.isEmpty()) {
+                roleRows.add(new Object[] {id, roleIds.get(0)});
+                if (roleIds.size() > 1 && random.nextDouble() < 0.05) {
+                    roleRows.add(new Object[] {id, roleIds.get(1)});
+                }
+            }
+            if (userRows.size() == batchSize || i == users - 1) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate("INSERT INTO tb_user (id, first_name, last_name, email, password) "
+                            + "VALUES (?, ?, ?, ?, ?)", userRows);
+                    jdbcTemplate.batchUpdate("INSERT INTO tb_user_role (user_id, role_id) VALUES (?, ?)", roleRows);
+                });
+                userRows.clear();
+                roleRows.clear();
+            }
+        }
+    }
+
+    private String description(Random random, ZipfSampler wordSampler) {
+        int words = 8 + random.nextInt(40);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(DESCRIPTION_WORDS[wordSampler.sample(random)]);
+        }
+        return text.append('.').toString();
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Object[]> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        }
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1L : max + 1;
+    }
+
+    private void restartSequence(String table) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + nextId(table));
+    }
+}
@@ -0,0 +1,52 @@
+package com.devsuperior.dscatalog.synthetic;
+
+import java.time.Duration;
+
+public class SyntheticCatalogReport {
+
+    private final long firstProductId;
+    private final int products;
+    private final long memberships;
+    private final int categories;
+    private final int users;
+    private final Duration elapsed;
+
+    public SyntheticCatalogReport(long firstProductId, int products, long memberships, int categories, int users,
+                                  Duration elapsed) {
+        this.firstProductId = firstProductId;
+        this.products = products;
+        this.memberships = memberships;
+        this.categories = categories;
+        this.users = users;
+        this.elapsed = elapsed;
+    }
+
+    public long getFirstProductId() {
+        return firstProductId;
+    }
+
+    public int getProducts() {
+        return products;
+    }
+
+    public long getMemberships() {
+        return memberships;
+    }
+
+    public int getCategories() {
+        return categories;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public double getRowsPerMinute() {
+        double minutes = Math.max(elapsed.toMillis(), 1) / 60_000.0;
+        return (products + memberships + categories + users) / minutes;
+    }
+}
@@ -0,0 +1,59 @@
+package com.devsuperior.dscatalog.synthetic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+
+/**
+ * Loads a synthetic catalog on startup when the {@code synthetic} profile is
+ * active, e.g. {@code --spring.profiles.active=test,synthetic}. Runs before the
+ * in-memory indexes are built, so they cover the generated rows.
+ */
+@Component
+@Profile("synthetic")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dscatalog.synthetic.products:100000}")
+    private int products;
+
+    @Value("${dscatalog.synthetic.categories:50}")
+    private int categories;
+
+    @Value("${dscatalog.synthetic.users:1000}")
+    private int users;
+
+    @Value("${dscatalog.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${dscatalog.synthetic.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${dscatalog.synthetic.reference-date:2024-01-01T00:00:00Z}")
+    private Instant referenceDate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SyntheticCatalogReport report = new SyntheticCatalogGenerator(jdbcTemplate, transactionManager,
+                seed, batchSize, referenceDate).generate(categories, products, users);
+        logger.info("Generated {} products ({} category links), {} categories and {} users in {} ms ({} rows/min)",
+                report.getProducts(), report.getMemberships(), report.getCategories(), report.getUsers(),
+                report.getElapsed().toMillis(), Math.round(report.getRowsPerMinute()));
+    }
+}
@@ -0,0 +1,53 @@
+CREATE SEQUENCE tb_category_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tb_product_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tb_role_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tb_user_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tb_category (
+    id BIGINT NOT NULL,
+    name VARCHAR(255),
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_category PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_product (
+    id BIGINT NOT NULL,
+    name VARCHAR(255),
+    description TEXT,
+    price DOUBLE PRECISION,
+    img_url VARCHAR(255),
+    date TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_product PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_product_category (
+    product_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    CONSTRAINT pk_product_category PRIMARY KEY (product_id, category_id),
+    CONSTRAINT fk_product_category_product FOREIGN KEY (product_id) REFERENCES tb_product (id),
+    CONSTRAINT fk_product_category_category FOREIGN KEY (category_id) REFERENCES tb_category (id)
+);
+
+CREATE TABLE tb_role (
+    id BIGINT NOT NULL,
+    authority VARCHAR(255),
+    CONSTRAINT pk_role PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_user (
+    id BIGINT NOT NULL,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    email VARCHAR(255),
+    password VARCHAR(255),
+    CONSTRAINT pk_user PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_user_role (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    CONSTRAINT pk_user_role PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_role_user FOREIGN KEY (user_id) REFERENCES tb_user (id),
+    CONSTRAINT fk_user_role_role FOREIGN KEY (role_id) REFERENCES tb_role (id)
+);
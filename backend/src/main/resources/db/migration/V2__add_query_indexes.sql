@@ -0,0 +1,11 @@
+-- Sorted paging and keyset seeks order by (column, id)
+CREATE INDEX idx_product_name_id ON tb_product (name, id);
+CREATE INDEX idx_product_price_id ON tb_product (price, id);
+CREATE INDEX idx_product_date_id ON tb_product (date, id);
+
+-- Products of a category; the primary key already covers (product_id, category_id)
+CREATE INDEX idx_product_category_category ON tb_product_category (category_id, product_id);
+
+CREATE INDEX idx_user_role_role ON tb_user_role (role_id, user_id);
+
+CREATE UNIQUE INDEX uk_user_email ON tb_user (email);
@@ -0,0 +1,8 @@
+-- Optimistic-lock versions and modification times backing ETag / Last-Modified
+ALTER TABLE tb_category ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tb_product ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tb_product ADD COLUMN updated_at TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE tb_category SET created_at = COALESCE(created_at, CURRENT_TIMESTAMP),
+                       updated_at = COALESCE(updated_at, created_at, CURRENT_TIMESTAMP);
+UPDATE tb_product SET updated_at = CURRENT_TIMESTAMP;
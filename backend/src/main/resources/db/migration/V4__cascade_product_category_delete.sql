@@ -0,0 +1,4 @@
+-- Deleting a product removes its category memberships in the same statement
+ALTER TABLE tb_product_category DROP CONSTRAINT fk_product_category_product;
+ALTER TABLE tb_product_category ADD CONSTRAINT fk_product_category_product
+    FOREIGN KEY (product_id) REFERENCES tb_product (id) ON DELETE CASCADE;
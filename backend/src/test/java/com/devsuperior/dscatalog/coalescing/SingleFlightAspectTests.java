@@ -0,0 +1,133 @@
+package com.devsuperior.dscatalog.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightAspectTests {
+
+    private MeterRegistry registry;
+    private SingleFlightAspect aspect;
+    private SlowReader target;
+    private SlowReader reader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        aspect = new SingleFlightAspect(registry, Duration.ofSeconds(5));
+        target = new SlowReader();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        reader = factory.getProxy();
+    }
+
+    @Test
+    public void concurrentCallsWithSameArgumentsShouldShareOneExecution() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(pool.submit(() -> reader.load(1L)));
+        }
+        awaitWaiting(4);
+        target.release.countDown();
+
+        Object first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> result : results) {
+            Assertions.assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        Assertions.assertEquals(1, target.calls.get());
+        Assertions.assertEquals(1.0, count("leader"));
+        Assertions.assertEquals(4.0, count("shared"));
+    }
+
+    @Test
+    public void callsWithDifferentArgumentsShouldNotBeCoalesced() throws Exception {
+        target.release.countDown();
+
+        Assertions.assertNotSame(reader.load(1L), reader.load(2L));
+        Assertions.assertEquals(2, target.calls.get());
+    }
+
+    @Test
+    public void followersShouldReceiveLeaderException() throws Exception {
+        target.failure = new IllegalStateException("boom");
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<Object> leader = pool.submit(() -> reader.load(1L));
+        Future<Object> follower = pool.submit(() -> reader.load(1L));
+        awaitWaiting(1);
+        target.release.countDown();
+
+        for (Future<Object> result : List.of(leader, follower)) {
+            Exception e = Assertions.assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        pool.shutdown();
+        Assertions.assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    public void followerShouldRunItselfWhenWaitTimesOut() throws Exception {
+        aspect = new SingleFlightAspect(registry, Duration.ofMillis(50));
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        SlowReader impatient = factory.getProxy();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<Object> leader = pool.submit(() -> impatient.load(1L));
+        while (target.calls.get() == 0) {
+            Thread.sleep(5);
+        }
+        Future<Object> follower = pool.submit(() -> impatient.load(1L));
+        while (count("timeout") == 0) {
+            Thread.sleep(5);
+        }
+        target.release.countDown();
+
+        Assertions.assertNotSame(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        Assertions.assertEquals(2, target.calls.get());
+    }
+
+    private void awaitWaiting(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (aspect.getWaiting() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertEquals(expected, aspect.getWaiting());
+    }
+
+    private double count(String outcome) {
+        var counter = registry.find(SingleFlightAspect.CALLS).tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    public static class SlowReader {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile RuntimeException failure;
+
+        @SingleFlight
+        public Object load(Long id) throws InterruptedException {
+            calls.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            if (failure != null) {
+                throw failure;
+            }
+            return new Object();
+        }
+    }
+}
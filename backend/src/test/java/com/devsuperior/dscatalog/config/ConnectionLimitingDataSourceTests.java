@@ -0,0 +1,56 @@
+package com.devsuperior.dscatalog.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+public class ConnectionLimitingDataSourceTests {
+
+    private DataSource target;
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = Mockito.mock(DataSource.class);
+        Mockito.when(target.getConnection()).thenAnswer(x -> Mockito.mock(Connection.class));
+        dataSource = new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    public void getConnectionShouldThrowSQLTransientConnectionExceptionWhenAllPermitsHeld() throws Exception {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        Assertions.assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        Mockito.verify(target, Mockito.times(2)).getConnection();
+    }
+
+    @Test
+    public void closeShouldReleasePermitOnlyOnce() throws Exception {
+        Connection connection = dataSource.getConnection();
+        dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        Assertions.assertEquals(1, dataSource.getAvailable());
+        dataSource.getConnection();
+        Assertions.assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+    }
+
+    @Test
+    public void getConnectionShouldReleasePermitWhenTargetFails() throws Exception {
+        Mockito.when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        Assertions.assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+        Assertions.assertEquals(2, dataSource.getAvailable());
+    }
+}
@@ -0,0 +1,65 @@
+package com.devsuperior.dscatalog.controller;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.services.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class CategoryControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CategoryService categoryService;
+
+    private Long dependentId;
+    private Long nonExistingId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dependentId = 1L;
+        nonExistingId = 1000L;
+    }
+
+    @Test
+    public void deleteShouldReturnNoContentWhenCategoryIsUnused() throws Exception {
+        CategoryDTO unused = categoryService.insert(new CategoryDTO(null, "Unused"));
+
+        mockMvc.perform(delete("/categories/{id}", unused.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/categories/{id}", unused.getId()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void deleteShouldReturnBadRequestWhenCategoryIsUsedByProducts() throws Exception {
+        mockMvc.perform(delete("/categories/{id}", dependentId))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void deleteShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
+        mockMvc.perform(delete("/categories/{id}", nonExistingId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void suggestShouldReturnBadRequestWhenLimitIsNotPositive() throws Exception {
+        mockMvc.perform(get("/categories/suggest?prefix=co&limit=0").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,22 +1,51 @@
 package com.devsuperior.dscatalog.controller;
 
+import com.devsuperior.dscatalog.config.CacheConfig;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
 import com.devsuperior.dscatalog.factories.Factory;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.CsvReader;
+import com.devsuperior.dscatalog.services.ProductExportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -30,6 +59,15 @@ public class ProductControllerIT {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    ProductRepository productRepository;
+
     private Long existingId;
     private Long nonExistingId;
     private Long countTotalElements;
@@ -110,4 +148,319 @@ public class ProductControllerIT {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void updateShouldReturnBadRequestWhenCategoryIdIsMissing() throws Exception{
+        productDTO.getCategories().add(new CategoryDTO(null, "Books"));
+        String jsonBody = objectMapper.writeValueAsString(productDTO);
+
+        ResultActions result =
+                mockMvc.perform(put("/products/{id}", existingId)
+                        .content(jsonBody)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                );
+        result
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByIdShouldIssueFewerStatementsWhenSecondLevelCacheIsWarm() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCache(CacheConfig.PRODUCTS).clear();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        cacheManager.getCache(CacheConfig.PRODUCTS).clear();
+        statistics.clear();
+        mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories[0].name").exists());
+        long warmStatements = statistics.getPrepareStatementCount();
+        long secondLevelHits = statistics.getSecondLevelCacheHitCount();
+        statistics.setStatisticsEnabled(false);
+
+        Assertions.assertEquals(2, coldStatements);
+        Assertions.assertEquals(1, warmStatements);
+        Assertions.assertTrue(secondLevelHits > 0);
+    }
+
+    @Test
+    public void findAllShouldRenderOnlyRequestedFieldsWhenFieldsGiven() throws Exception {
+        mockMvc.perform(get("/products?page=0&size=12&sort=name,asc&fields=name,price")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(countTotalElements))
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].name").value("Macbook Pro"))
+                .andExpect(jsonPath("$.content[0].price").exists())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].categories").doesNotExist());
+    }
+
+    @Test
+    public void findAllShouldReturnBadRequestWhenFieldIsUnknownOrCombinedWithFilters() throws Exception {
+        mockMvc.perform(get("/products?fields=name,password").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products?fields=name&minPrice=100").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void suggestShouldReturnBadRequestWhenLimitIsNotPositive() throws Exception {
+        mockMvc.perform(get("/products/suggest?prefix=pc&limit=0").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void findAllShouldReturnBadRequestWhenFilterRangeIsInverted() throws Exception {
+        mockMvc.perform(get("/products?minPrice=100&maxPrice=10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("minPrice must not be greater than maxPrice"));
+        mockMvc.perform(get("/products?minDate=2021-01-01T00:00:00Z&maxDate=2020-01-01T00:00:00Z")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("minDate must not be after maxDate"));
+    }
+
+    @Test
+    public void findByIdShouldReturnNotModifiedFromVersionLookupWhenETagMatches() throws Exception {
+        MvcResult first = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        mockMvc.perform(get("/products/{id}", existingId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        long statements = statistics.getPrepareStatementCount();
+        long entitiesLoaded = statistics.getEntityLoadCount();
+        statistics.setStatisticsEnabled(false);
+
+        Assertions.assertEquals(1, statements);
+        Assertions.assertEquals(0, entitiesLoaded);
+    }
+
+    @Test
+    public void findByIdShouldReturnProductWhenETagIsStale() throws Exception {
+        mockMvc.perform(get("/products/{id}", existingId).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.id").value(existingId));
+    }
+
+    @Test
+    public void findByIdShouldReturnNotFoundForConditionalRequestWhenIdDoesNotExist() throws Exception {
+        mockMvc.perform(get("/products/{id}", nonExistingId).header(HttpHeaders.IF_NONE_MATCH, "\"0-0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void findAllCategoriesShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        MvcResult first = mockMvc.perform(get("/categories?page=0&size=10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/categories?page=0&size=10").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/categories?page=0&size=1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void exportShouldStreamEveryProductAsNdjsonWithTwoStatements() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        MvcResult started = mockMvc.perform(get("/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProductExportService.NDJSON_VALUE))
+                .andReturn();
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(countTotalElements, lines.length);
+        ProductDTO first = objectMapper.readValue(lines[0], ProductDTO.class);
+        Assertions.assertEquals(existingId, first.getId());
+        Assertions.assertFalse(first.getCategories().isEmpty());
+        Assertions.assertNotNull(first.getCategories().get(0).getName());
+        Assertions.assertEquals(2, statements);
+    }
+
+    @Test
+    public void exportShouldStreamGzippedCsvWhenRequested() throws Exception {
+        MvcResult started = mockMvc.perform(get("/products/export?format=csv&gzip=true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(body)), StandardCharsets.UTF_8))) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        Assertions.assertEquals(ProductExportService.CSV_HEADER, records.get(0));
+        Assertions.assertEquals(countTotalElements + 1, records.size());
+        Assertions.assertEquals("1", records.get(1).get(0));
+        Assertions.assertFalse(records.get(1).get(6).isBlank());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportShouldWriteEmptyCsvFieldsForNullValues() throws Exception {
+        Product product = productRepository.findById(existingId).get();
+        Double price = product.getPrice();
+        String imgUrl = product.getImgUrl();
+        product.setPrice(null);
+        product.setImgUrl(null);
+        productRepository.save(product);
+        try {
+            MvcResult started = mockMvc.perform(get("/products/export?format=csv&gzip=false"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            List<String> record;
+            try (CsvReader reader = new CsvReader(new StringReader(body))) {
+                reader.readRecord();
+                record = reader.readRecord();
+            }
+            Assertions.assertEquals(String.valueOf(existingId), record.get(0));
+            Assertions.assertEquals("", record.get(3));
+            Assertions.assertEquals("", record.get(4));
+        }
+        finally {
+            product = productRepository.findById(existingId).get();
+            product.setPrice(price);
+            product.setImgUrl(imgUrl);
+            productRepository.save(product);
+        }
+    }
+
+    @Test
+    public void exportShouldReturnBadRequestWhenFormatIsUnsupported() throws Exception {
+        mockMvc.perform(get("/products/export?format=xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void findAllShouldReturnFacetedPageWhenFiltered() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products?categoryId=2&minDate=2020-01-01T00:00:00Z&sort=id")
+                        .accept(MediaType.APPLICATION_JSON)
+                );
+        result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[1].id").value(5))
+                .andExpect(jsonPath("$.categoryFacets").isArray())
+                .andExpect(jsonPath("$.priceFacets[0].min").value(0.0));
+    }
+
+    @Test
+    public void findAllByIdsShouldReturnProductsInRequestOrderAndMissingIds() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products?ids=5,{missing},1", nonExistingId)
+                        .accept(MediaType.APPLICATION_JSON)
+                );
+        result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(5))
+                .andExpect(jsonPath("$.content[1].id").value(1))
+                .andExpect(jsonPath("$.content[1].categories").isNotEmpty())
+                .andExpect(jsonPath("$.missingIds[0]").value(nonExistingId));
+    }
+
+    @Test
+    public void findAllByIdsShouldReturnBadRequestWhenTooManyIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, 501).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/products").param("ids", ids).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void updateBulkShouldReturnAffectedCounts() throws Exception {
+        String body = """
+                {"changes": [{"id": 1, "price": 95.0}, {"id": %d, "price": 1.0}],
+                 "rules": [{"categoryId": 1, "percent": 5}]}
+                """.formatted(nonExistingId);
+
+        ResultActions result =
+                mockMvc.perform(patch("/products/bulk")
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                );
+        result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.repriced").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(nonExistingId));
+    }
+
+    @Test
+    public void deleteAllShouldReturnDeletedCount() throws Exception {
+        ResultActions result =
+                mockMvc.perform(delete("/products?ids=1,2,{missing}", nonExistingId)
+                        .accept(MediaType.APPLICATION_JSON)
+                );
+        result
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.deleted").value(2));
+        mockMvc.perform(get("/products/{id}", 1L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void deleteAllShouldReturnBadRequestWhenTooManyIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, 501).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mockMvc.perform(delete("/products").param("ids", ids).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products/{id}", 1L))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void updateBulkShouldReturnBadRequestWhenPayloadIsInvalid() throws Exception {
+        String body = """
+                {"changes": [{"price": 95.0}], "rules": [{"categoryId": 1, "percent": -100}]}
+                """;
+
+        mockMvc.perform(patch("/products/bulk")
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
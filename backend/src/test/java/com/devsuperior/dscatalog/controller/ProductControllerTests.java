@@ -1,8 +1,14 @@
 package com.devsuperior.dscatalog.controller;
 
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductImportSummaryDTO;
 import com.devsuperior.dscatalog.factories.Factory;
+import com.devsuperior.dscatalog.services.ProductBulkUpdateService;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.ProductImportService;
 import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.ResourceVersion;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,15 +18,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -33,6 +44,15 @@ public class ProductControllerTests {
     @MockBean
     private ProductService service;
 
+    @MockBean
+    private ProductImportService importService;
+
+    @MockBean
+    private ProductExportService exportService;
+
+    @MockBean
+    private ProductBulkUpdateService bulkUpdateService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,9 +77,15 @@ public class ProductControllerTests {
         when(service.update(eq(nonExistingId), any())).thenThrow(ResourceNotFoundException.class);
 
         when(service.findAllPaged(any())).thenReturn(page);
+        when(service.findAllSliced(any())).thenReturn(new SliceImpl<>(List.of(productDTO)));
+        when(service.findApproximateCount()).thenReturn(Optional.of(25L));
+        when(service.findAllByCursor(eq(""), any(), anyInt())).thenReturn(new CursorPageDTO<>(List.of(productDTO), 1, "next"));
+
+        when(service.search(eq("gamer"), any())).thenReturn(page);
 
         when(service.findById(existingId)).thenReturn(productDTO);
         when(service.findById(nonExistingId)).thenThrow(ResourceNotFoundException.class);
+        when(service.findVersion(existingId)).thenReturn(ResourceVersion.of(productDTO));
 
         doNothing().when(service).delete(existingId);
         doThrow(ResourceNotFoundException.class).when(service).delete(nonExistingId);
@@ -107,6 +133,21 @@ public class ProductControllerTests {
                 .andExpect(jsonPath("$.price").value(800.0));
     }
 
+    @Test
+    public void insertBulkShouldStreamCsvBodyToImportService() throws Exception {
+        when(importService.importCsv(any(), any())).thenReturn(new ProductImportSummaryDTO());
+
+        ResultActions result =
+                mockMvc.perform(post("/products/bulk")
+                        .content("name,price\nPhone,800.0\n")
+                        .contentType("text/csv")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.inserted").value(0));
+        verify(importService, times(1)).importCsv(any(), any());
+    }
+
     @Test
     public void updateShouldReturnProductDtoWhenIdExists() throws Exception {
 
@@ -148,6 +189,28 @@ public class ProductControllerTests {
         result.andExpect(jsonPath("$.content[0].id").value(productDTO.getId()));
     }
 
+    @Test
+    public void findAllShouldReturnSliceWithApproximateTotalWhenTotalIsFalse() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products?total=false")
+                        .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(header().string(ProductController.APPROXIMATE_TOTAL_HEADER, "25"));
+        result.andExpect(jsonPath("$.content[0].id").value(productDTO.getId()));
+        result.andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    public void findAllShouldReturnCursorPageWhenAfterIsPresent() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products?after=&size=1")
+                        .accept(MediaType.APPLICATION_JSON));
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.content[0].id").value(productDTO.getId()));
+        result.andExpect(jsonPath("$.nextCursor").value("next"));
+        result.andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
     @Test
     public void findByIdShouldReturnProductDtoWhenIdExists() throws Exception {
         ResultActions result =
@@ -160,6 +223,18 @@ public class ProductControllerTests {
         result.andExpect(jsonPath("$.description").exists());
     }
 
+    @Test
+    public void findByIdShouldReturnNotModifiedWithoutLoadingProductWhenETagMatches() throws Exception {
+        String eTag = "\"" + ResourceVersion.of(productDTO).getETag() + "\"";
+
+        ResultActions result =
+                mockMvc.perform(get("/products/{id}", existingId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        result.andExpect(status().isNotModified());
+        verify(service, never()).findById(existingId);
+    }
+
     @Test
     public void findByIdShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
         ResultActions result =
@@ -167,4 +242,15 @@ public class ProductControllerTests {
                         .accept(MediaType.APPLICATION_JSON));
         result.andExpect(status().isNotFound());
     }
+
+    @Test
+    public void searchShouldReturnPageOfMatchingProducts() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products/search?q=gamer")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.content[0].id").value(productDTO.getId()));
+        result.andExpect(jsonPath("$.totalElements").value(1));
+    }
 }
@@ -0,0 +1,72 @@
+package com.devsuperior.dscatalog.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void findByIdShouldRecordServiceRepositoryAndStatementMetrics() throws Exception {
+        mockMvc.perform(get("/products/{id}", 1L).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        Assertions.assertTrue(meterRegistry.get(MetricsAspect.SERVICE_CALLS)
+                .tags("class", "ProductService", "method", "findById", "exception", "none")
+                .timer().count() > 0);
+        Assertions.assertTrue(meterRegistry.get(MetricsAspect.REPOSITORY_CALLS)
+                .tags("repository", "ProductRepository", "exception", "none")
+                .timer().count() > 0);
+        Assertions.assertTrue(meterRegistry.get(StatementMetricsListener.STATEMENTS)
+                .tag("repository", "ProductRepository")
+                .timer().count() > 0);
+    }
+
+    @Test
+    public void findByIdShouldRecordPerRequestDatabaseWork() throws Exception {
+        mockMvc.perform(get("/products/{id}", 2L).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        var statements = meterRegistry.get(RequestMetricsFilter.STATEMENTS)
+                .tags("uri", "/products/{id}", "method", "GET", "status", "200")
+                .summary();
+        Assertions.assertTrue(statements.count() > 0);
+        Assertions.assertTrue(statements.totalAmount() > 0);
+        Assertions.assertTrue(meterRegistry.get(RequestMetricsFilter.ENTITIES_LOADED)
+                .tags("uri", "/products/{id}").summary().totalAmount() > 0);
+    }
+
+    @Test
+    public void prometheusEndpointShouldExposeRouteHistogramsAndDatabaseMetrics() throws Exception {
+        mockMvc.perform(get("/categories").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("uri=\"/categories\"")))
+                .andExpect(content().string(containsString("dscatalog_service_calls_seconds_count")))
+                .andExpect(content().string(containsString("dscatalog_repository_statements_seconds_count")))
+                .andExpect(content().string(containsString("dscatalog_request_entities_loaded")));
+    }
+}
@@ -0,0 +1,79 @@
+package com.devsuperior.dscatalog.metrics;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "dscatalog.statements.budget=1")
+@AutoConfigureMockMvc
+public class StatementBudgetIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    StatementBudget budget;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.end();
+    }
+
+    @Test
+    public void requestOverStatementBudgetShouldBeReportedAndCounted() throws Exception {
+        MvcResult result = mockMvc.perform(get("/products?page=0&size=12").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        StatementBudgetReport report = (StatementBudgetReport) result.getRequest()
+                .getAttribute(StatementBudgetReport.ATTRIBUTE);
+        Assertions.assertTrue(report.overStatementBudget());
+        Assertions.assertTrue(report.statements() > 1);
+        Assertions.assertTrue(meterRegistry.get(RequestMetricsFilter.VIOLATIONS)
+                .tags("uri", "/products", "kind", "statements").counter().count() > 0);
+    }
+
+    @Test
+    @Transactional
+    public void lazyCategoryLoadPerProductShouldBeReportedAsRepeatedStatement() {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        RequestStatistics statistics = RequestStatistics.start();
+
+        List<Product> products = productRepository.findAll(PageRequest.of(0, 10)).getContent();
+        products.forEach(x -> new ProductDTO(x, x.getCategories()));
+
+        StatementBudgetReport report = budget.evaluate(statistics);
+        Assertions.assertTrue(report.hasRepeatedStatements());
+        Assertions.assertEquals(10, report.repeatedStatements().values().iterator().next());
+        Assertions.assertEquals(10L, statistics.getCollectionsFetched());
+    }
+}
@@ -0,0 +1,72 @@
+package com.devsuperior.dscatalog.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+public class StatementBudgetTests {
+
+    private static final String CATEGORY_LOAD = "select c1_0.product_id from tb_product_category c1_0 where c1_0.product_id=?";
+
+    private StatementBudget budget;
+    private RequestStatistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        budget = new StatementBudget(5, Duration.ofMillis(100), 3);
+        statistics = RequestStatistics.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.end();
+    }
+
+    @Test
+    public void evaluateShouldPassWhenWithinBudget() {
+        statistics.recordStatement("select count(*) from tb_product", 1_000_000);
+        statistics.recordStatement("select p1_0.id from tb_product p1_0", 2_000_000);
+
+        StatementBudgetReport report = budget.evaluate(statistics);
+
+        Assertions.assertFalse(report.isViolation());
+        Assertions.assertEquals(2L, report.statements());
+        Assertions.assertEquals(Duration.ofMillis(3), report.sqlTime());
+        Assertions.assertEquals("select p1_0.id from tb_product p1_0", report.slowestStatement());
+    }
+
+    @Test
+    public void evaluateShouldFlagRepeatedIdenticalStatementsIgnoringWhitespace() {
+        statistics.recordStatement(CATEGORY_LOAD, 1000);
+        statistics.recordStatement(CATEGORY_LOAD.replace(" where", "\n    where"), 1000);
+        statistics.recordStatement(CATEGORY_LOAD, 1000);
+
+        StatementBudgetReport report = budget.evaluate(statistics);
+
+        Assertions.assertTrue(report.isViolation());
+        Assertions.assertFalse(report.overStatementBudget());
+        Assertions.assertEquals(3, report.repeatedStatements().get(CATEGORY_LOAD));
+    }
+
+    @Test
+    public void evaluateShouldFlagStatementCountAndSqlTimeOverBudget() {
+        for (int i = 0; i < 6; i++) {
+            statistics.recordStatement("select " + i, 20_000_000);
+        }
+
+        StatementBudgetReport report = budget.evaluate(statistics);
+
+        Assertions.assertTrue(report.overStatementBudget());
+        Assertions.assertTrue(report.overSqlTimeBudget());
+        Assertions.assertFalse(report.hasRepeatedStatements());
+    }
+
+    @Test
+    public void constructorShouldThrowIllegalArgumentExceptionWhenRepeatThresholdBelowTwo() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new StatementBudget(5, Duration.ofMillis(100), 1));
+    }
+}
@@ -2,6 +2,7 @@ package com.devsuperior.dscatalog.repositories;
 
 import com.devsuperior.dscatalog.entities.Product;
 import com.devsuperior.dscatalog.factories.Factory;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,9 @@ public class ProductRepositoryTests {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private long existingId;
     private long nonExistingId;
     private long countTotalProducts;
@@ -70,4 +74,19 @@ public class ProductRepositoryTests {
         Assertions.assertFalse(result.isPresent());
     }
 
+    @Test
+    public void removeByIdShouldDeleteProductAndItsCategoryRows() {
+
+        long existentId = 2L;
+
+        int count = repository.removeById(existentId);
+        Number memberships = (Number) entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM tb_product_category WHERE product_id = :id")
+                .setParameter("id", existentId)
+                .getSingleResult();
+
+        Assertions.assertEquals(1, count);
+        Assertions.assertEquals(0, memberships.intValue());
+        Assertions.assertEquals(0, repository.removeById(nonExistingId));
+    }
 }
@@ -0,0 +1,61 @@
+package com.devsuperior.dscatalog.repositories;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+
+/**
+ * Fails when a hot listing or lookup query stops being served by the index the
+ * migrations create for it.
+ */
+@DataJpaTest
+public class QueryPlanTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void listingSortedByNameShouldUseNameIndex() {
+        assertUsesIndex("SELECT p.id FROM tb_product p ORDER BY p.name, p.id FETCH FIRST 12 ROWS ONLY",
+                "idx_product_name_id");
+    }
+
+    @Test
+    public void keysetSeekByPriceShouldUsePriceIndex() {
+        assertUsesIndex("SELECT p.id FROM tb_product p WHERE p.price > 1000.0 ORDER BY p.price, p.id "
+                + "FETCH FIRST 12 ROWS ONLY", "idx_product_price_id");
+    }
+
+    @Test
+    public void dateWindowShouldUseDateIndex() {
+        assertUsesIndex("SELECT p.id FROM tb_product p WHERE p.date >= TIMESTAMP '2020-07-14 00:00:00' "
+                + "ORDER BY p.date, p.id FETCH FIRST 12 ROWS ONLY", "idx_product_date_id");
+    }
+
+    @Test
+    public void productsOfCategoryShouldUseCategoryIndex() {
+        assertUsesIndex("SELECT pc.product_id FROM tb_product_category pc WHERE pc.category_id = 3",
+                "idx_product_category_category");
+    }
+
+    @Test
+    public void userLookupByEmailShouldUseUniqueIndex() {
+        assertUsesIndex("SELECT u.id FROM tb_user u WHERE u.email = 'alex@gmail.com'", "uk_user_email");
+    }
+
+    @Test
+    public void productLookupByIdShouldUsePrimaryKey() {
+        assertUsesIndex("SELECT p.name FROM tb_product p WHERE p.id = 1", "primary_key");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase(Locale.ROOT);
+
+        Assertions.assertFalse(plan.contains("tablescan"), () -> "Full scan in plan: " + plan);
+        Assertions.assertTrue(plan.contains(index), () -> "Expected " + index + " in plan: " + plan);
+    }
+}
@@ -0,0 +1,126 @@
+package com.devsuperior.dscatalog.responsecache;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.services.CategoryService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ResponseCacheIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ResponseCache responseCache;
+
+    @Autowired
+    CategoryService categoryService;
+
+    @BeforeEach
+    void setUp() {
+        responseCache.invalidate(ResponseCache.PRODUCTS);
+        responseCache.invalidate(ResponseCache.CATEGORIES);
+    }
+
+    @Test
+    public void secondListingRequestShouldBeServedFromCacheWithSameBody() throws Exception {
+        MvcResult miss = mockMvc.perform(get("/products?page=0&size=12&sort=name").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+
+        MvcResult hit = mockMvc.perform(get("/products?sort=name,asc&size=12").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        Assertions.assertArrayEquals(miss.getResponse().getContentAsByteArray(),
+                hit.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    public void cachedListingShouldBeServedGzippedWhenAccepted() throws Exception {
+        MvcResult miss = mockMvc.perform(get("/categories").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        MvcResult hit = mockMvc.perform(get("/categories").accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(hit.getResponse().getContentAsByteArray()))
+                .readAllBytes();
+        Assertions.assertArrayEquals(miss.getResponse().getContentAsByteArray(), body);
+    }
+
+    @Test
+    public void cachedListingShouldAnswerMatchingETagWithNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/categories").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/categories").accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"));
+    }
+
+    @Test
+    public void committedCategoryChangeShouldInvalidateCategoryAndProductListings() throws Exception {
+        mockMvc.perform(get("/categories").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+        mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+
+        CategoryDTO inserted = categoryService.insert(new CategoryDTO(null, "Cached Category"));
+        try {
+            mockMvc.perform(get("/categories").accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"))
+                    .andExpect(content().string(containsString("Cached Category")));
+            mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"));
+        }
+        finally {
+            categoryService.delete(inserted.getId());
+        }
+
+        mockMvc.perform(get("/categories").accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "MISS"))
+                .andExpect(content().string(not(containsString("Cached Category"))));
+    }
+
+    @Test
+    public void filteredOrDeepPageRequestsShouldBypassCache() throws Exception {
+        mockMvc.perform(get("/products?minPrice=100").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ResponseCacheFilter.CACHE_HEADER));
+        mockMvc.perform(get("/products?page=5").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ResponseCacheFilter.CACHE_HEADER));
+    }
+}
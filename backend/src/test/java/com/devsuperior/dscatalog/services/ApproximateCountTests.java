@@ -0,0 +1,53 @@
+package com.devsuperior.dscatalog.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ApproximateCountTests {
+
+    private AtomicLong rows;
+    private AtomicLong countQueries;
+    private ApproximateCount approximateCount;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rows = new AtomicLong(25L);
+        countQueries = new AtomicLong();
+        approximateCount = new ApproximateCount(() -> {
+            countQueries.incrementAndGet();
+            return rows.get();
+        });
+    }
+
+    @Test
+    public void getShouldReturnEmptyBeforeFirstRefresh() {
+        Assertions.assertTrue(approximateCount.get().isEmpty());
+        Assertions.assertEquals(0L, countQueries.get());
+    }
+
+    @Test
+    public void refreshShouldNotRecountWhileValueIsFresh() {
+        approximateCount.refresh(Duration.ofMinutes(1));
+        rows.incrementAndGet();
+        approximateCount.refresh(Duration.ofMinutes(1));
+
+        Assertions.assertEquals(25L, approximateCount.get().orElseThrow());
+        Assertions.assertEquals(1L, countQueries.get());
+    }
+
+    @Test
+    public void invalidateShouldDropValueUntilNextRefresh() {
+        approximateCount.refresh(Duration.ofMinutes(1));
+        rows.incrementAndGet();
+
+        approximateCount.invalidate();
+        Assertions.assertTrue(approximateCount.get().isEmpty());
+
+        approximateCount.refresh(Duration.ofMinutes(1));
+        Assertions.assertEquals(26L, approximateCount.get().orElseThrow());
+    }
+}
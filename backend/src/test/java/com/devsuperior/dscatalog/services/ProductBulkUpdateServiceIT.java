@@ -0,0 +1,103 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.PriceRuleDTO;
+import com.devsuperior.dscatalog.dto.ProductBulkUpdateDTO;
+import com.devsuperior.dscatalog.dto.ProductBulkUpdateSummaryDTO;
+import com.devsuperior.dscatalog.dto.ProductPatchDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@SpringBootTest(properties = "dscatalog.bulk-update.chunk-size=2")
+@Transactional
+@RecordApplicationEvents
+public class ProductBulkUpdateServiceIT {
+
+    @Autowired
+    ProductBulkUpdateService service;
+
+    @Autowired
+    ProductRepository repository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    ApplicationEvents events;
+
+    @Test
+    public void updateShouldPatchOnlyGivenFieldsInChunksAndReportMissingIds() {
+        Product before = repository.findById(2L).get();
+        String description = before.getDescription();
+        Long version = before.getVersion();
+        entityManager.clear();
+
+        ProductPatchDTO rename = new ProductPatchDTO(2L, null);
+        rename.setName("Smart TV 4K");
+        ProductBulkUpdateDTO dto = new ProductBulkUpdateDTO();
+        dto.setChanges(List.of(new ProductPatchDTO(1L, 99.9), rename, new ProductPatchDTO(1000L, 5.0)));
+
+        ProductBulkUpdateSummaryDTO result = service.update(dto);
+        entityManager.clear();
+
+        Assertions.assertEquals(2L, result.getUpdated());
+        Assertions.assertEquals(List.of(1000L), result.getMissingIds());
+        Assertions.assertEquals(2, result.getTransactions());
+        Assertions.assertEquals(99.9, repository.findById(1L).get().getPrice());
+        Product after = repository.findById(2L).get();
+        Assertions.assertEquals("Smart TV 4K", after.getName());
+        Assertions.assertEquals(2190.0, after.getPrice());
+        Assertions.assertEquals(description, after.getDescription());
+        Assertions.assertEquals(version + 1, after.getVersion());
+        Assertions.assertEquals(2, events.stream(ProductChangedEvent.class).count());
+    }
+
+    @Test
+    public void updateShouldApplyPriceRuleToCategoryWithSetBasedStatement() {
+        ProductBulkUpdateDTO dto = new ProductBulkUpdateDTO();
+        dto.setRules(List.of(new PriceRuleDTO(1L, 10.0)));
+
+        ProductBulkUpdateSummaryDTO result = service.update(dto);
+        entityManager.clear();
+
+        Assertions.assertEquals(1L, result.getRepriced());
+        Assertions.assertEquals(2409.0, repository.findById(2L).get().getPrice(), 0.001);
+        Assertions.assertEquals(2190.0 * 1.1, events.stream(ProductChangedEvent.class)
+                .filter(x -> x.getId() == 2L).findFirst().get().getPrice(), 0.001);
+    }
+
+    @Test
+    public void updateShouldWalkCatalogWideRuleInChunks() {
+        Double price = repository.findById(25L).get().getPrice();
+        long products = repository.count();
+        entityManager.clear();
+        ProductBulkUpdateDTO dto = new ProductBulkUpdateDTO();
+        dto.setRules(List.of(new PriceRuleDTO(null, -50.0)));
+
+        ProductBulkUpdateSummaryDTO result = service.update(dto);
+        entityManager.clear();
+
+        Assertions.assertEquals(products, result.getRepriced());
+        Assertions.assertEquals((int) ((products + 1) / 2), result.getTransactions());
+        Assertions.assertEquals(price / 2, repository.findById(25L).get().getPrice(), 0.001);
+        Assertions.assertEquals(products, events.stream(ProductChangedEvent.class).count());
+    }
+
+    @Test
+    public void updateShouldThrowBadRequestExceptionWhenChangeIsInvalid() {
+        ProductBulkUpdateDTO dto = new ProductBulkUpdateDTO();
+        dto.setChanges(List.of(new ProductPatchDTO(1L, -1.0)));
+
+        Assertions.assertThrows(BadRequestException.class, () -> service.update(dto));
+    }
+}
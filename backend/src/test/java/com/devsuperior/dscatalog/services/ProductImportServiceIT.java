@@ -0,0 +1,134 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.ProductImportSummaryDTO;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+@SpringBootTest(properties = "dscatalog.import.chunk-size=2")
+@Transactional
+public class ProductImportServiceIT {
+
+    @Autowired
+    ProductImportService service;
+
+    @Autowired
+    ProductRepository repository;
+
+    private Long countTotalProducts;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        countTotalProducts = 25L;
+    }
+
+    @Test
+    public void importJsonShouldInsertValidRowsInChunksAndReportRejections() throws Exception {
+        String json = """
+                [
+                  {"name": "Kindle", "price": 500.0, "categories": [{"id": 2}]},
+                  {"name": "Notebook", "price": 3500.0, "date": "2020-07-14T10:00:00Z", "categories": [{"id": 2}, {"id": 3}]},
+                  {"name": "", "price": 10.0},
+                  {"name": "Mouse", "price": 50.0, "categories": [{"id": 1000}]},
+                  {"name": "Keyboard", "price": 80.0}
+                ]
+                """;
+
+        ProductImportSummaryDTO result = service.importJson(stream(json));
+
+        Assertions.assertNull(result.getError());
+        Assertions.assertEquals(3L, result.getInserted());
+        Assertions.assertEquals(2L, result.getRejected());
+        Assertions.assertEquals(3, result.getChunks().size());
+        Assertions.assertEquals("Row 3: name is required", result.getRejections().get(0));
+        Assertions.assertEquals("Row 4: category 1000 does not exist", result.getRejections().get(1));
+        Assertions.assertEquals(countTotalProducts + 3, repository.count());
+    }
+
+    @Test
+    public void importJsonShouldAbortWhenBodyIsNotAnArray() throws Exception {
+        ProductImportSummaryDTO result = service.importJson(stream("{\"name\": \"Kindle\"}"));
+
+        Assertions.assertNotNull(result.getError());
+        Assertions.assertEquals(0L, result.getInserted());
+    }
+
+    @Test
+    public void importCsvShouldParseQuotedFieldsAndCategoryLists() throws Exception {
+        String csv = "name,description,price,imgUrl,date,categories\r\n"
+                + "\"Monitor, 27\"\"\",\"Wide\nscreen\",1500.0,,2020-07-14T10:00:00Z,2|3\r\n"
+                + "Webcam,,abc,,,\r\n"
+                + "Headset,,120.0,,,1\r\n";
+
+        ProductImportSummaryDTO result = service.importCsv(stream(csv), StandardCharsets.UTF_8);
+
+        Assertions.assertNull(result.getError());
+        Assertions.assertEquals(2L, result.getInserted());
+        Assertions.assertEquals(1L, result.getRejected());
+        Assertions.assertEquals(countTotalProducts + 2, repository.count());
+        Assertions.assertTrue(repository.findAll().stream()
+                .anyMatch(x -> x.getName().equals("Monitor, 27\"") && x.getCategories().size() == 2));
+    }
+
+    @Test
+    public void importJsonShouldRejectRowsWithInvalidValuesAndKeepGoing() throws Exception {
+        String json = """
+                [
+                  {"name": "Kindle", "price": 500.0, "categories": null},
+                  {"name": "Webcam", "price": "abc"},
+                  {"name": "Keyboard", "price": 80.0}
+                ]
+                """;
+
+        ProductImportSummaryDTO result = service.importJson(stream(json));
+
+        Assertions.assertNull(result.getError());
+        Assertions.assertEquals(2L, result.getInserted());
+        Assertions.assertEquals(1L, result.getRejected());
+        Assertions.assertEquals("Row 2: price has an invalid value", result.getRejections().get(0));
+        Assertions.assertEquals(countTotalProducts + 2, repository.count());
+    }
+
+    @Test
+    public void importJsonShouldWritePendingRowsWhenSyntaxBreaks() throws Exception {
+        String json = """
+                [
+                  {"name": "Kindle", "price": 500.0},
+                  {"name": "Keyboard", "price": 80.0},
+                  {"name": "Mouse", "price": 50.0},
+                  {"name": "Webcam", "price": 
+                """;
+
+        ProductImportSummaryDTO result = service.importJson(stream(json));
+
+        Assertions.assertNotNull(result.getError());
+        Assertions.assertEquals(3L, result.getInserted());
+        Assertions.assertEquals(countTotalProducts + 3, repository.count());
+    }
+
+    @Test
+    public void importCsvShouldWritePendingRowsWhenQuoteIsUnterminated() throws Exception {
+        String csv = "name,price\r\n"
+                + "Kindle,500.0\r\n"
+                + "Keyboard,80.0\r\n"
+                + "\"Webcam,120.0\r\n";
+
+        ProductImportSummaryDTO result = service.importCsv(stream(csv), StandardCharsets.UTF_8);
+
+        Assertions.assertEquals("Malformed CSV after row 2: Unterminated quoted field", result.getError());
+        Assertions.assertEquals(2L, result.getInserted());
+        Assertions.assertEquals(countTotalProducts + 2, repository.count());
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
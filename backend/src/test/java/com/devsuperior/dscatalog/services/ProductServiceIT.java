@@ -1,20 +1,50 @@
 package com.devsuperior.dscatalog.services;
 
+import com.devsuperior.dscatalog.config.CacheConfig;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.dto.FacetedPage;
+import com.devsuperior.dscatalog.dto.PriceFacetDTO;
+import com.devsuperior.dscatalog.dto.ProductBatchDTO;
+import com.devsuperior.dscatalog.dto.ProductBulkDeleteSummaryDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.ProductFilterDTO;
+import com.devsuperior.dscatalog.dto.SuggestionDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.factories.Factory;
+import com.devsuperior.dscatalog.metrics.RequestStatistics;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.exceptions.BadRequestException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
 import static org.mockito.Mockito.times;
 
 @SpringBootTest
@@ -27,6 +57,18 @@ public class ProductServiceIT {
     @Autowired
     ProductRepository   repository;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     private Long existingId;
     private Long nonExistingId;
     private Long countTotalProducts;
@@ -45,6 +87,40 @@ public class ProductServiceIT {
         Assertions.assertEquals(countTotalProducts - 1, repository.count());
     }
 
+    @Test
+    public void deleteShouldIssueSingleStatement() {
+        RequestStatistics statistics = RequestStatistics.start();
+        try {
+            service.delete(existingId);
+        }
+        finally {
+            RequestStatistics.end();
+        }
+
+        Assertions.assertEquals(1, statistics.getStatements());
+    }
+
+    @Test
+    public void deleteAllShouldDeleteExistingIdsInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, 150).boxed().toList();
+
+        ProductBulkDeleteSummaryDTO result = service.deleteAll(ids);
+
+        Assertions.assertEquals(150L, result.getRequested());
+        Assertions.assertEquals(countTotalProducts, result.getDeleted());
+        Assertions.assertEquals(0L, repository.count());
+    }
+
+    @Test
+    public void deleteAllShouldThrowBadRequestExceptionWhenTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        Assertions.assertThrows(BadRequestException.class, () -> {
+            service.deleteAll(ids);
+        });
+        Assertions.assertEquals(countTotalProducts, repository.count());
+    }
+
     @Test
     public void deleteShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
         Assertions.assertThrows(ResourceNotFoundException.class, () -> {
@@ -85,4 +161,481 @@ public class ProductServiceIT {
         Assertions.assertEquals("PC Gamer", result.getContent().get(1).getName());
         Assertions.assertEquals("PC Gamer Alfa", result.getContent().get(2).getName());
     }
+
+    @Test
+    public void findAllPagedShouldIssueFixedStatementCountRegardlessOfPageSize() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        Page<ProductDTO> smallPage = service.findAllPaged(PageRequest.of(1, 5));
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Page<ProductDTO> largePage = service.findAllPaged(PageRequest.of(1, 12));
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        statistics.setStatisticsEnabled(false);
+
+        Assertions.assertEquals(5, smallPage.getNumberOfElements());
+        Assertions.assertEquals(12, largePage.getNumberOfElements());
+        Assertions.assertFalse(largePage.getContent().get(0).getCategories().isEmpty());
+        Assertions.assertEquals(3, smallPageStatements);
+        Assertions.assertEquals(3, largePageStatements);
+    }
+
+    @Test
+    public void findAllByCursorShouldWalkWholeCatalogInSortOrder() {
+        List<ProductDTO> paged = service.findAllPaged(PageRequest.of(0, 30, Sort.by("name", "id"))).getContent();
+
+        List<ProductDTO> walked = new ArrayList<>();
+        CursorPageDTO<ProductDTO> page = service.findAllByCursor("", "name,asc", 10);
+        walked.addAll(page.getContent());
+        while (page.getNextCursor() != null) {
+            page = service.findAllByCursor(page.getNextCursor(), "ignored", 10);
+            walked.addAll(page.getContent());
+        }
+
+        Assertions.assertEquals(countTotalProducts, walked.size());
+        for (int i = 0; i < paged.size(); i++) {
+            Assertions.assertEquals(paged.get(i).getId(), walked.get(i).getId());
+        }
+    }
+
+    @Test
+    public void findAllByCursorShouldSeekDescendingByPrice() {
+        CursorPageDTO<ProductDTO> first = service.findAllByCursor("", "price,desc", 5);
+        CursorPageDTO<ProductDTO> second = service.findAllByCursor(first.getNextCursor(), "price,desc", 5);
+
+        Assertions.assertEquals(5, first.getContent().size());
+        Assertions.assertEquals(4170.0, first.getContent().get(0).getPrice());
+        Assertions.assertTrue(first.getContent().get(4).getPrice() >= second.getContent().get(0).getPrice());
+    }
+
+    @Test
+    public void findAllByCursorShouldKeepProductsWithNullKeysInBothDirections() {
+        for (Long id : List.of(3L, 7L, 12L)) {
+            Product entity = repository.getReferenceById(id);
+            entity.setPrice(null);
+            entity.setName(id == 12L ? null : entity.getName());
+        }
+        repository.flush();
+
+        for (String sort : List.of("price,asc", "price,desc", "name,asc", "name,desc")) {
+            List<Long> walked = new ArrayList<>();
+            CursorPageDTO<ProductDTO> page = service.findAllByCursor("", sort, 2);
+            page.getContent().forEach(x -> walked.add(x.getId()));
+            while (page.getNextCursor() != null) {
+                page = service.findAllByCursor(page.getNextCursor(), sort, 2);
+                page.getContent().forEach(x -> walked.add(x.getId()));
+            }
+
+            Assertions.assertEquals(countTotalProducts, walked.stream().distinct().count(), sort);
+            Assertions.assertEquals(countTotalProducts, walked.size(), sort);
+            if (sort.equals("price,asc")) {
+                Assertions.assertEquals(List.of(3L, 7L, 12L), walked.subList(22, 25));
+            }
+            if (sort.equals("price,desc")) {
+                Assertions.assertEquals(List.of(12L, 7L, 3L), walked.subList(0, 3));
+            }
+        }
+    }
+
+    @Test
+    public void findAllByCursorShouldThrowBadRequestExceptionWhenCursorIsInvalid() {
+        Assertions.assertThrows(BadRequestException.class, () -> {
+            service.findAllByCursor("not-a-cursor", "id", 10);
+        });
+        Assertions.assertThrows(BadRequestException.class, () -> {
+            service.findAllByCursor(Base64.getUrlEncoder().encodeToString("price|ASC|1|cheap".getBytes()), "id", 10);
+        });
+        Assertions.assertThrows(BadRequestException.class, () -> {
+            service.findAllByCursor("", "description", 10);
+        });
+        Assertions.assertThrows(BadRequestException.class, () -> {
+            service.findAllByCursor("", "id", 0);
+        });
+    }
+
+    @Test
+    public void findAllSlicedShouldSkipCountQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Slice<ProductDTO> result = service.findAllSliced(PageRequest.of(0, 10));
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        Assertions.assertEquals(10, result.getNumberOfElements());
+        Assertions.assertTrue(result.hasNext());
+        Assertions.assertEquals(2, statements);
+    }
+
+    @Test
+    public void findAllSlicedShouldReturnLastSliceWithoutNext() {
+        Slice<ProductDTO> result = service.findAllSliced(PageRequest.of(2, 10));
+
+        Assertions.assertEquals(5, result.getNumberOfElements());
+        Assertions.assertFalse(result.hasNext());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByIdShouldServeRepeatedReadsFromCache() {
+        cacheManager.getCache(CacheConfig.PRODUCTS).clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        service.findById(existingId);
+        long firstReadStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        service.findById(existingId);
+        long secondReadStatements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        Assertions.assertTrue(firstReadStatements > 0);
+        Assertions.assertEquals(0, secondReadStatements);
+        Assertions.assertTrue(meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.PRODUCTS).tag("result", "hit").functionCounter().count() > 0);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByIdShouldNotCacheValueReadBeforeConcurrentUpdate() {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        ProductDTO stale = service.findById(existingId);
+        ProductDTO changed = new ProductDTO();
+        changed.setName("Renamed while loading");
+        changed.setDescription(stale.getDescription());
+        changed.setPrice(stale.getPrice());
+        changed.setImgUrl(stale.getImgUrl());
+        changed.setDate(stale.getDate());
+        changed.setCategories(stale.getCategories());
+        cache.clear();
+
+        try {
+            // Reader misses and loads the old row, the update commits and evicts, then the reader puts
+            Assertions.assertNull(cache.get(existingId));
+            CompletableFuture.runAsync(() -> service.update(existingId, changed)).join();
+            cache.put(existingId, stale);
+
+            Assertions.assertNull(cache.get(existingId));
+            Assertions.assertEquals("Renamed while loading", service.findById(existingId).getName());
+        }
+        finally {
+            service.update(existingId, stale);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void categoryRenameShouldEvictCachedProductsReferencingIt() {
+        ProductDTO cached = service.findById(existingId);
+        CategoryDTO category = cached.getCategories().get(0);
+        String originalName = category.getName();
+
+        try {
+            categoryService.update(category.getId(), new CategoryDTO(category.getId(), "Renamed"));
+            ProductDTO result = service.findById(existingId);
+
+            Assertions.assertEquals("Renamed", result.getCategories().get(0).getName());
+        }
+        finally {
+            categoryService.update(category.getId(), new CategoryDTO(category.getId(), originalName));
+        }
+    }
+
+    @Test
+    public void findAllPagedShouldSelectOnlyRequestedFieldsWithoutLoadingEntities() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Page<Map<String, Object>> result =
+                service.findAllPaged(PageRequest.of(0, 10, Sort.by("name")), Set.of("name", "price"));
+        long statements = statistics.getPrepareStatementCount();
+        long entitiesLoaded = statistics.getEntityLoadCount();
+        statistics.setStatisticsEnabled(false);
+
+        List<String> expectedNames = service.findAllPaged(PageRequest.of(0, 10, Sort.by("name"))).getContent()
+                .stream().map(ProductDTO::getName).toList();
+        Assertions.assertEquals(expectedNames, result.getContent().stream().map(x -> x.get("name")).toList());
+        Assertions.assertEquals(List.of("id", "name", "price"), List.copyOf(result.getContent().get(0).keySet()));
+        Assertions.assertEquals(countTotalProducts, result.getTotalElements());
+        Assertions.assertEquals(3, statements);
+        Assertions.assertEquals(0, entitiesLoaded);
+    }
+
+    @Test
+    public void findAllPagedShouldIncludeCategoriesWhenRequested() {
+        Page<Map<String, Object>> result = service.findAllPaged(PageRequest.of(0, 5), Set.of("categories"));
+
+        ProductDTO expected = service.findById((Long) result.getContent().get(0).get("id"));
+        List<?> categories = (List<?>) result.getContent().get(0).get("categories");
+        Assertions.assertEquals(expected.getCategories().size(), categories.size());
+        Assertions.assertFalse(result.getContent().get(0).containsKey("description"));
+    }
+
+    @Test
+    public void findAllPagedShouldThrowBadRequestExceptionWhenFieldIsUnknown() {
+        Assertions.assertThrows(BadRequestException.class,
+                () -> service.findAllPaged(PageRequest.of(0, 5), Set.of("name", "password")));
+    }
+
+    @Test
+    public void findVersionShouldMatchVersionOfLoadedProduct() {
+        ResourceVersion loaded = ResourceVersion.of(service.findById(existingId));
+        ResourceVersion current = service.findVersion(existingId);
+
+        Assertions.assertEquals(loaded.getETag(), current.getETag());
+        Assertions.assertEquals(loaded.getLastModified(), current.getLastModified());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findVersionShouldChangeWhenProductOrOneOfItsCategoriesChanges() {
+        ProductDTO original = service.findById(existingId);
+        CategoryDTO category = original.getCategories().get(0);
+        String originalETag = service.findVersion(existingId).getETag();
+
+        try {
+            ProductDTO dto = service.findById(existingId);
+            dto.setName("Updated name");
+            service.update(existingId, dto);
+            String afterUpdate = service.findVersion(existingId).getETag();
+            categoryService.update(category.getId(), new CategoryDTO(category.getId(), "Renamed"));
+            String afterRename = service.findVersion(existingId).getETag();
+
+            Assertions.assertNotEquals(originalETag, afterUpdate);
+            Assertions.assertNotEquals(afterUpdate, afterRename);
+        }
+        finally {
+            service.update(existingId, original);
+            categoryService.update(category.getId(), category);
+        }
+    }
+
+    @Test
+    public void findVersionShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> service.findVersion(nonExistingId));
+    }
+
+    @Test
+    public void insertAllShouldBatchProductAndCategoryRows() {
+        List<ProductDTO> dtos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ProductDTO dto = Factory.createProductDTO();
+            dto.setId(null);
+            dto.setName("Bulk product " + i);
+            dtos.add(dto);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<ProductDTO> result = service.insertAll(dtos);
+        long statements = statistics.getPrepareStatementCount();
+        long inserts = statistics.getEntityInsertCount();
+        statistics.setStatisticsEnabled(false);
+
+        Assertions.assertEquals(20, result.size());
+        Assertions.assertEquals(20, inserts);
+        Assertions.assertEquals(countTotalProducts + 20, repository.count());
+        // sequence, category lookup, one batch for tb_product and one for tb_product_category
+        Assertions.assertTrue(statements <= 4, "Expected batched inserts but got " + statements + " statements");
+    }
+
+    @Test
+    public void searchShouldReturnRankedPageOfMatchingProducts() {
+        long gamers = repository.findAll().stream().filter(x -> x.getName().startsWith("PC Gamer")).count();
+
+        Page<ProductDTO> result = service.search("pc gamer", PageRequest.of(0, 5));
+
+        Assertions.assertEquals(gamers, result.getTotalElements());
+        Assertions.assertEquals(5, result.getContent().size());
+        Assertions.assertTrue(result.getContent().get(0).getName().startsWith("PC Gamer"));
+        Assertions.assertFalse(result.getContent().get(0).getCategories().isEmpty());
+    }
+
+    @Test
+    public void searchShouldReturnEmptyPageWhenNothingMatches() {
+        Page<ProductDTO> result = service.search("nonexistingterm", PageRequest.of(0, 5));
+
+        Assertions.assertTrue(result.isEmpty());
+        Assertions.assertEquals(0L, result.getTotalElements());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void searchShouldFollowCommittedInsertsAndDeletes() {
+        ProductDTO dto = Factory.createProductDTO();
+        dto.setId(null);
+        dto.setName("Quantum Toaster");
+        ProductDTO inserted = service.insert(dto);
+
+        Page<ProductDTO> afterInsert = service.search("quantum", PageRequest.of(0, 5));
+        service.delete(inserted.getId());
+        Page<ProductDTO> afterDelete = service.search("quantum", PageRequest.of(0, 5));
+
+        Assertions.assertEquals(inserted.getId(), afterInsert.getContent().get(0).getId());
+        Assertions.assertTrue(afterDelete.isEmpty());
+    }
+
+    @Test
+    public void searchShouldThrowBadRequestExceptionWhenPageIsOutOfRange() {
+        Assertions.assertThrows(BadRequestException.class, () -> {
+            service.search("computer", PageRequest.of(Integer.MAX_VALUE / 10, 20));
+        });
+    }
+
+    @Test
+    public void suggestShouldReturnMostRecentProductsMatchingPrefix() {
+        List<SuggestionDTO> result = service.suggest("pc gam", 3);
+
+        Assertions.assertEquals(3, result.size());
+        Assertions.assertTrue(result.stream().allMatch(x -> x.getName().startsWith("PC Gamer")));
+    }
+
+    @Test
+    public void categorySuggestShouldIgnoreAccents() {
+        List<SuggestionDTO> result = categoryService.suggest("eletro", 10);
+
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals("Eletrônicos", result.get(0).getName());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void suggestShouldFollowCommittedInsertsAndDeletes() {
+        ProductDTO dto = Factory.createProductDTO();
+        dto.setId(null);
+        dto.setName("Zeppelin Kit");
+        ProductDTO inserted = service.insert(dto);
+
+        List<SuggestionDTO> afterInsert = service.suggest("zep", 10);
+        service.delete(inserted.getId());
+        List<SuggestionDTO> afterDelete = service.suggest("zep", 10);
+
+        Assertions.assertEquals(inserted.getId(), afterInsert.get(0).getId());
+        Assertions.assertTrue(afterDelete.isEmpty());
+    }
+
+    @Test
+    public void findAllFilteredShouldReturnMatchingPageWithFacetCounts() {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setCategoryId(List.of(3L));
+        filter.setMinPrice(1000.0);
+        filter.setMaxPrice(2000.0);
+        List<Product> expected = repository.findAll().stream()
+                .filter(x -> x.getPrice() >= 1000.0 && x.getPrice() <= 2000.0)
+                .filter(x -> x.getCategories().stream().anyMatch(cat -> cat.getId() == 3L))
+                .toList();
+
+        FacetedPage<ProductDTO> result = service.findAllFiltered(filter, PageRequest.of(0, 5, Sort.by("price")));
+
+        Assertions.assertEquals(expected.size(), result.getTotalElements());
+        Assertions.assertEquals(5, result.getContent().size());
+        Assertions.assertTrue(result.getContent().stream().allMatch(x -> x.getPrice() >= 1000.0 && x.getPrice() <= 2000.0));
+        Assertions.assertFalse(result.getCategoryFacets().isEmpty());
+        long bucketTotal = result.getPriceFacets().stream().mapToLong(PriceFacetDTO::getCount).sum();
+        Assertions.assertEquals(repository.findAll().stream()
+                .filter(x -> x.getCategories().stream().anyMatch(cat -> cat.getId() == 3L)).count(), bucketTotal);
+    }
+
+    @Test
+    public void findAllFilteredShouldThrowBadRequestExceptionWhenPriceRangeIsInverted() {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setMinPrice(10.0);
+        filter.setMaxPrice(1.0);
+
+        Assertions.assertThrows(BadRequestException.class, () -> {
+            service.findAllFiltered(filter, PageRequest.of(0, 5));
+        });
+    }
+
+    @Test
+    public void findAllByIdsShouldPreserveOrderAndReportMissingIds() {
+        ProductBatchDTO result = service.findAllByIds(List.of(3L, nonExistingId, 1L, 3L, 2L));
+
+        Assertions.assertEquals(List.of(3L, 1L, 2L), result.getContent().stream().map(ProductDTO::getId).toList());
+        Assertions.assertEquals(List.of(nonExistingId), result.getMissingIds());
+        Assertions.assertFalse(result.getContent().get(1).getCategories().isEmpty());
+    }
+
+    @Test
+    public void findAllByIdsShouldLoadInChunksAndShareCategoryDtos() {
+        List<Long> ids = LongStream.rangeClosed(1, 250).boxed().toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        ProductBatchDTO result = service.findAllByIds(ids);
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        Assertions.assertEquals(3, statements);
+        Assertions.assertEquals(countTotalProducts, result.getContent().size());
+        Assertions.assertEquals(250 - countTotalProducts, result.getMissingIds().size());
+        Map<Long, CategoryDTO> seen = new HashMap<>();
+        for (ProductDTO product : result.getContent()) {
+            for (CategoryDTO category : product.getCategories()) {
+                Assertions.assertSame(seen.computeIfAbsent(category.getId(), x -> category), category);
+            }
+        }
+    }
+
+    @Test
+    public void findAllByIdsShouldThrowBadRequestExceptionWhenTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        Assertions.assertThrows(BadRequestException.class, () -> service.findAllByIds(ids));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void updateShouldTouchNoJoinRowsWhenCategoriesAreUnchanged() {
+        ProductDTO dto = service.findById(existingId);
+
+        RequestStatistics statistics = RequestStatistics.start();
+        try {
+            service.update(existingId, dto);
+        }
+        finally {
+            RequestStatistics.end();
+        }
+
+        Assertions.assertEquals(0, joinRowWrites(statistics));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void updateShouldInsertAndDeleteOnlyChangedJoinRows() {
+        ProductDTO dto = new ProductDTO(repository.findById(2L).get());
+        dto.setCategories(List.of(new CategoryDTO(2L, null), new CategoryDTO(3L, null)));
+
+        RequestStatistics statistics = RequestStatistics.start();
+        try {
+            service.update(2L, dto);
+            long writes = joinRowWrites(statistics);
+            ProductDTO result = service.findById(2L);
+
+            Assertions.assertEquals(Set.of(2L, 3L),
+                    Set.copyOf(result.getCategories().stream().map(CategoryDTO::getId).toList()));
+            Assertions.assertEquals(2, writes);
+        }
+        finally {
+            RequestStatistics.end();
+            dto.setCategories(List.of(new CategoryDTO(1L, null), new CategoryDTO(3L, null)));
+            service.update(2L, dto);
+        }
+    }
+
+    private long joinRowWrites(RequestStatistics statistics) {
+        return statistics.repeatedStatements(1).entrySet().stream()
+                .filter(x -> x.getKey().toLowerCase().matches("(insert into|delete from) tb_product_category.*"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
 }
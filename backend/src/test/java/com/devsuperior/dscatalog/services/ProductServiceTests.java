@@ -1,5 +1,6 @@
 package com.devsuperior.dscatalog.services;
 
+import com.devsuperior.dscatalog.dto.CategoryDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
@@ -8,6 +9,9 @@ import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.search.ProductFacetIndex;
+import com.devsuperior.dscatalog.services.search.ProductSearchIndex;
+import com.devsuperior.dscatalog.services.search.SuggestionIndex;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,11 +21,14 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.Mockito.times;
 
@@ -37,14 +44,27 @@ public class ProductServiceTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
+    @Mock
+    private ProductFacetIndex facetIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
 
     private long existingId;
     private long nonExistingId;
     private long dependentId;
+    private long nonExistingCategoryId;
     private Product product;
     private Category category;
     private ProductDTO productDTO;
-    private PageImpl<Product> page;
+    private PageImpl<Long> page;
 
 
     @BeforeEach
@@ -52,31 +72,33 @@ public class ProductServiceTests {
         existingId = 1L;
         nonExistingId = 2L;
         dependentId = 3L;
+        nonExistingCategoryId = 1000L;
         product = Factory.createProduct();
         category = Factory.createCategory();
         productDTO = Factory.createProductDTO();
-        page = new PageImpl<>(List.of(product));
+        page = new PageImpl<>(List.of(existingId));
 
         //Update
         Mockito.when(repository.getReferenceById(existingId)).thenReturn(product);
         Mockito.when(repository.getReferenceById(nonExistingId)).thenThrow(EntityNotFoundException.class);
-        Mockito.when(categoryRepository.getReferenceById(category.getId())).thenReturn(category);
+        Mockito.when(categoryRepository.findAllById(Set.of(category.getId()))).thenReturn(List.of(category));
+        Mockito.when(categoryRepository.findAllById(Set.of(nonExistingCategoryId))).thenReturn(List.of());
 
         //Insert and Update
         Mockito.when(repository.save(ArgumentMatchers.any())).thenReturn(product);
 
         //FindAllPagable
-        Mockito.when(repository.findAll((Pageable)ArgumentMatchers.any())).thenReturn(page);
+        Mockito.when(repository.findProductIds((Pageable)ArgumentMatchers.any())).thenReturn(page);
+        Mockito.when(repository.findProductsWithCategories(ArgumentMatchers.any())).thenReturn(List.of(product));
 
         //FindById
         Mockito.when(repository.findById(existingId)).thenReturn(Optional.of(product));
         Mockito.when(repository.findById(nonExistingId)).thenReturn(Optional.empty());
 
         //Delete
-        Mockito.when(repository.existsById(existingId)).thenReturn(true);
-        Mockito.when(repository.existsById(dependentId)).thenReturn(true);
-        Mockito.doNothing().when(repository).deleteById(existingId);
-        Mockito.doThrow(DatabaseException.class).when(repository).deleteById(dependentId);
+        Mockito.when(repository.removeById(existingId)).thenReturn(1);
+        Mockito.when(repository.removeById(nonExistingId)).thenReturn(0);
+        Mockito.when(repository.removeById(dependentId)).thenThrow(DataIntegrityViolationException.class);
     }
 
     @Test
@@ -107,6 +129,25 @@ public class ProductServiceTests {
         Mockito.verify(repository, times(1)).save(product);
     }
 
+    @Test
+    public void updateShouldNotLoadCategoriesWhenTheyAreUnchanged() {
+
+        service.update(existingId, productDTO);
+
+        Assertions.assertEquals(Set.of(category), product.getCategories());
+        Mockito.verify(categoryRepository, Mockito.never()).findAllById(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void updateShouldThrowResourceNotFoundExceptionWhenCategoryDoesNotExist() {
+        productDTO.getCategories().add(new CategoryDTO(nonExistingCategoryId, null));
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            service.update(existingId, productDTO);
+        });
+        Mockito.verify(categoryRepository, times(1)).findAllById(Set.of(nonExistingCategoryId));
+    }
+
     @Test
     public void findByIdShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
 
@@ -133,7 +174,10 @@ public class ProductServiceTests {
         Page<ProductDTO> result = service.findAllPaged(pageable);
 
         Assertions.assertNotNull(result);
-        Mockito.verify(repository, times(1)).findAll(pageable);
+        Assertions.assertEquals(existingId, result.getContent().get(0).getId());
+        Assertions.assertFalse(result.getContent().get(0).getCategories().isEmpty());
+        Mockito.verify(repository, times(1)).findProductIds(pageable);
+        Mockito.verify(repository, times(1)).findProductsWithCategories(List.of(existingId));
     }
 
     @Test
@@ -142,8 +186,7 @@ public class ProductServiceTests {
             service.delete(dependentId);
         });
 
-        Mockito.verify(repository, times(1)).existsById(dependentId);
-        Mockito.verify(repository, times(1)).deleteById(dependentId);
+        Mockito.verify(repository, times(1)).removeById(dependentId);
     }
 
     @Test
@@ -153,7 +196,7 @@ public class ProductServiceTests {
             service.delete(nonExistingId);
         });
 
-        Mockito.verify(repository, times(1)).existsById(nonExistingId);
+        Mockito.verify(repository, times(1)).removeById(nonExistingId);
     }
 
     @Test
@@ -163,7 +206,7 @@ public class ProductServiceTests {
             service.delete(existingId);
         });
 
-        Mockito.verify(repository, times(1)).existsById(existingId);
-        Mockito.verify(repository, times(1)).deleteById(existingId);
+        Mockito.verify(repository, times(1)).removeById(existingId);
+        Mockito.verify(repository, Mockito.never()).findById(existingId);
     }
 }
@@ -0,0 +1,79 @@
+package com.devsuperior.dscatalog.services.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public class FacetIndexTests {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new FacetIndex(new double[] {0, 100, 1000});
+        index.put(1L, 50.0, Instant.parse("2020-01-01T00:00:00Z"), List.of(1L));
+        index.put(2L, 500.0, Instant.parse("2021-01-01T00:00:00Z"), List.of(1L, 2L));
+        index.put(3L, 1500.0, Instant.parse("2022-01-01T00:00:00Z"), List.of(2L));
+        index.put(4L, 2500.0, null, List.of(3L));
+    }
+
+    @Test
+    public void countShouldReturnEveryFacetWhenNoFilterIsActive() {
+        FacetCounts counts = index.count(List.of(), null, null, null, null);
+
+        Assertions.assertEquals(4L, counts.getTotal());
+        Assertions.assertEquals(Map.of(1L, 2L, 2L, 2L, 3L, 1L), counts.getCategories());
+        Assertions.assertEquals(1L, counts.getBucket(0));
+        Assertions.assertEquals(1L, counts.getBucket(1));
+        Assertions.assertEquals(2L, counts.getBucket(2));
+        Assertions.assertNull(counts.getBucketMax(2));
+    }
+
+    @Test
+    public void countShouldExcludeOwnFilterFromEachFacet() {
+        FacetCounts counts = index.count(List.of(2L), 100.0, 1000.0, null, null);
+
+        Assertions.assertEquals(1L, counts.getTotal());
+        Assertions.assertEquals(Map.of(1L, 1L, 2L, 1L), counts.getCategories());
+        Assertions.assertEquals(0L, counts.getBucket(0));
+        Assertions.assertEquals(1L, counts.getBucket(1));
+        Assertions.assertEquals(1L, counts.getBucket(2));
+    }
+
+    @Test
+    public void countShouldFilterByDateWindowAndSkipUndatedProducts() {
+        FacetCounts counts = index.count(List.of(), null, null, Instant.parse("2020-06-01T00:00:00Z"), null);
+
+        Assertions.assertEquals(2L, counts.getTotal());
+    }
+
+    @Test
+    public void putAndRemoveShouldKeepBitsetsCurrent() {
+        index.put(1L, 5000.0, Instant.parse("2020-01-01T00:00:00Z"), List.of(3L));
+        index.remove(4L);
+
+        FacetCounts counts = index.count(List.of(3L), null, null, null, null);
+
+        Assertions.assertEquals(1L, counts.getTotal());
+        Assertions.assertEquals(Map.of(1L, 1L, 2L, 2L, 3L, 1L), counts.getCategories());
+        Assertions.assertEquals(3, index.size());
+    }
+
+    @Test
+    public void rangeFiltersShouldFollowWritesAndMatchInclusiveBounds() {
+        Assertions.assertEquals(2L, index.count(List.of(), 500.0, 1500.0, null, null).getTotal());
+
+        index.put(5L, 1000.0, Instant.parse("2023-01-01T00:00:00Z"), List.of(1L));
+        index.put(3L, 3000.0, Instant.parse("2022-01-01T00:00:00Z"), List.of(2L));
+        FacetCounts counts = index.count(List.of(), 500.0, 1500.0, null, Instant.parse("2022-12-31T00:00:00Z"));
+
+        Assertions.assertEquals(1L, counts.getTotal());
+        Assertions.assertEquals(Map.of(1L, 1L, 2L, 1L), counts.getCategories());
+        Assertions.assertEquals(2L, index.count(List.of(), null, null, Instant.parse("2022-01-01T00:00:00Z"), null)
+                .getTotal());
+    }
+}
@@ -0,0 +1,83 @@
+package com.devsuperior.dscatalog.services.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class InvertedIndexTests {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new InvertedIndex();
+        index.put(1L, "PC Gamer", "Fast computer for games");
+        index.put(2L, "Smart TV", "Television with a gamer mode");
+        index.put(3L, "Notebook", "Light computer");
+    }
+
+    @Test
+    public void searchShouldRankNameMatchesAboveDescriptionMatches() {
+        SearchHits hits = index.search("gamer", 0, 10);
+
+        Assertions.assertEquals(2L, hits.getTotal());
+        Assertions.assertEquals(List.of(1L, 2L), hits.getIds());
+    }
+
+    @Test
+    public void searchShouldRequireEveryTerm() {
+        SearchHits hits = index.search("gamer computer", 0, 10);
+
+        Assertions.assertEquals(List.of(1L), hits.getIds());
+        Assertions.assertEquals(0L, index.search("gamer unknown", 0, 10).getTotal());
+    }
+
+    @Test
+    public void searchShouldIgnoreCaseAndAccents() {
+        index.put(4L, "Eletrônicos", "Seção de eletrônicos");
+
+        Assertions.assertEquals(List.of(4L), index.search("ELETRONICOS", 0, 10).getIds());
+    }
+
+    @Test
+    public void searchShouldPageAndReportTotal() {
+        SearchHits hits = index.search("computer", 1, 1);
+
+        Assertions.assertEquals(2L, hits.getTotal());
+        Assertions.assertEquals(1, hits.getIds().size());
+    }
+
+    @Test
+    public void searchShouldReturnEmptyPageWhenOffsetPlusLimitOverflows() {
+        SearchHits hits = index.search("computer", Integer.MAX_VALUE - 1, 10);
+
+        Assertions.assertEquals(2L, hits.getTotal());
+        Assertions.assertTrue(hits.getIds().isEmpty());
+    }
+
+    @Test
+    public void putShouldReplacePreviousVersionOfDocument() {
+        index.put(1L, "Office PC", "Quiet desktop");
+
+        Assertions.assertEquals(List.of(2L), index.search("gamer", 0, 10).getIds());
+        Assertions.assertEquals(List.of(1L), index.search("desktop", 0, 10).getIds());
+        Assertions.assertEquals(3, index.size());
+    }
+
+    @Test
+    public void removeShouldDropDocumentAndSurviveCompaction() {
+        for (long id = 100; id < 3100; id++) {
+            index.put(id, "Filler " + id, "temporary");
+        }
+        for (long id = 100; id < 3100; id++) {
+            index.remove(id);
+        }
+        index.remove(3L);
+
+        Assertions.assertEquals(0L, index.search("temporary", 0, 10).getTotal());
+        Assertions.assertEquals(List.of(1L), index.search("computer", 0, 10).getIds());
+        Assertions.assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,61 @@
+package com.devsuperior.dscatalog.services.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class SuggestionTrieTests {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        trie = new SuggestionTrie(2);
+        trie.put(1L, "PC Gamer", 10L);
+        trie.put(2L, "PC Gamer X", 30L);
+        trie.put(3L, "PC Office", 20L);
+        trie.put(4L, "Eletrônicos", 5L);
+    }
+
+    @Test
+    public void suggestShouldReturnTopKByScore() {
+        Assertions.assertEquals(List.of(2L, 3L), ids(trie.suggest("pc", 10)));
+        Assertions.assertEquals(List.of(2L, 1L), ids(trie.suggest("pc g", 10)));
+    }
+
+    @Test
+    public void suggestShouldMatchWordStartsCaseAndAccentInsensitively() {
+        Assertions.assertEquals(List.of(2L, 1L), ids(trie.suggest("GAM", 10)));
+        Assertions.assertEquals(List.of(4L), ids(trie.suggest("eletro", 10)));
+        Assertions.assertEquals("Eletrônicos", trie.suggest("Eletrô", 10).get(0).name());
+    }
+
+    @Test
+    public void suggestShouldReturnEmptyWhenNothingMatches() {
+        Assertions.assertTrue(trie.suggest("pcx", 10).isEmpty());
+        Assertions.assertTrue(trie.suggest("macbook", 10).isEmpty());
+    }
+
+    @Test
+    public void removeShouldPromoteNextBestEntry() {
+        trie.remove(2L);
+
+        Assertions.assertEquals(List.of(3L, 1L), ids(trie.suggest("pc", 10)));
+        Assertions.assertEquals(List.of(1L), ids(trie.suggest("gamer", 10)));
+        Assertions.assertEquals(3, trie.size());
+    }
+
+    @Test
+    public void putShouldReplaceRenamedEntry() {
+        trie.put(2L, "Smart TV", 30L);
+
+        Assertions.assertEquals(List.of(3L, 1L), ids(trie.suggest("pc", 10)));
+        Assertions.assertEquals(List.of(2L), ids(trie.suggest("sm", 10)));
+    }
+
+    private List<Long> ids(List<SuggestionTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestionTrie.Suggestion::id).toList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.devsuperior.dscatalog.synthetic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:synthetic")
+public class SyntheticCatalogGeneratorIT {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private SyntheticCatalogGenerator generator(long seed) {
+        return new SyntheticCatalogGenerator(jdbcTemplate, transactionManager, seed, 500,
+                Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    @Test
+    public void generateShouldBeDeterministicForSameSeed() {
+        SyntheticCatalogReport first = generator(7L).generate(5, 1200, 10);
+        SyntheticCatalogReport second = generator(7L).generate(5, 1200, 10);
+
+        Assertions.assertEquals(productValues(first), productValues(second));
+        Assertions.assertNotEquals(productValues(first), productValues(generator(8L).generate(5, 1200, 10)));
+    }
+
+    @Test
+    public void generateShouldSkewCategoryMembershipAndMoveSequences() {
+        SyntheticCatalogReport report = generator(42L).generate(10, 3000, 50);
+
+        List<Long> perCategory = jdbcTemplate.queryForList("SELECT COUNT(*) FROM tb_product_category "
+                + "WHERE product_id >= ? GROUP BY category_id ORDER BY COUNT(*) DESC", Long.class,
+                report.getFirstProductId());
+        Long nextId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR tb_product_seq", Long.class);
+        Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_user WHERE email LIKE '%@example.com'",
+                Long.class);
+
+        Assertions.assertTrue(perCategory.get(0) > 5 * perCategory.get(perCategory.size() - 1));
+        Assertions.assertTrue(nextId >= report.getFirstProductId() + report.getProducts());
+        Assertions.assertTrue(users >= 50);
+    }
+
+    private List<String> productValues(SyntheticCatalogReport report) {
+        return jdbcTemplate.queryForList("SELECT CONCAT(name, '|', price, '|', date) FROM tb_product "
+                + "WHERE id >= ? AND id < ? ORDER BY id", String.class,
+                report.getFirstProductId(), report.getFirstProductId() + report.getProducts());
+    }
+}
@@ -0,0 +1,28 @@
+package com.devsuperior.dscatalog.synthetic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class ZipfSamplerTests {
+
+    @Test
+    public void sampleShouldFavourLowRanks() {
+        ZipfSampler sampler = new ZipfSampler(10, 1.0);
+        Random random = new Random(1L);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        Assertions.assertTrue(counts[0] > counts[1]);
+        Assertions.assertTrue(counts[1] > counts[9]);
+        Assertions.assertEquals(2.0, (double) counts[0] / counts[1], 0.1);
+    }
+
+    @Test
+    public void constructorShouldThrowIllegalArgumentExceptionWhenThereAreNoRanks() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+    }
+}